@@ -0,0 +1,45 @@
+package study.querydsl.batch;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+// 파티션별 진행 위치, 청크 처리와 같은 트랜잭션에서 갱신되므로 재시작 시 마지막 커밋 이후부터 이어서 처리
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_batch_checkpoint_job", columnList = "jobName"))
+@ToString(of = {"jobName", "partitionIndex", "rangeFrom", "rangeTo", "lastProcessedId", "completed"})
+public class BatchCheckpoint {
+    @Id @GeneratedValue
+    private Long id;
+    private String jobName;
+    private int partitionIndex;
+    private long rangeFrom;
+    private long rangeTo;
+    private long lastProcessedId;
+    private boolean completed;
+
+    public BatchCheckpoint(String jobName, int partitionIndex, IdRange range) {
+        this.jobName = jobName;
+        this.partitionIndex = partitionIndex;
+        this.rangeFrom = range.getFrom();
+        this.rangeTo = range.getTo();
+        this.lastProcessedId = range.getFrom() - 1;
+    }
+
+    public void advance(long lastProcessedId) {
+        this.lastProcessedId = lastProcessedId;
+    }
+
+    public void complete() {
+        this.completed = true;
+    }
+}
@@ -0,0 +1,12 @@
+package study.querydsl.batch;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// 같은 이름의 작업이 이미 실행 중 (409)
+public class BatchJobRunningException extends ResponseStatusException {
+
+    public BatchJobRunningException(String jobName) {
+        super(HttpStatus.CONFLICT, "batch job is already running: " + jobName);
+    }
+}
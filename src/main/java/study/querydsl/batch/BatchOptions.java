@@ -0,0 +1,30 @@
+package study.querydsl.batch;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class BatchOptions {
+    // 파티션마다 체크포인트 행이 생기고 워커 스레드가 커넥션을 하나씩 점유하므로 상한을 둠
+    public static final int MAX_PARTITIONS = 1024;
+    public static final int MAX_THREADS = 32;
+
+    @Builder.Default
+    private int partitions = 8;
+    @Builder.Default
+    private int threads = 4;
+    @Builder.Default
+    private int chunkSize = 500;
+
+    public void validate() {
+        if (partitions < 1 || threads < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("partitions, threads and chunkSize must be positive: "
+                    + partitions + ", " + threads + ", " + chunkSize);
+        }
+        if (partitions > MAX_PARTITIONS || threads > MAX_THREADS) {
+            throw new IllegalArgumentException("partitions must be at most " + MAX_PARTITIONS
+                    + " and threads at most " + MAX_THREADS + ": " + partitions + ", " + threads);
+        }
+    }
+}
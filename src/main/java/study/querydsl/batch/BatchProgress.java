@@ -0,0 +1,56 @@
+package study.querydsl.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 실행 중인 작업의 파티션별 진행 상황 (워커 스레드가 갱신하고 조회 스레드가 읽음)
+public class BatchProgress {
+    private final String jobName;
+    private final List<BatchCheckpoint> checkpoints;
+    private final AtomicLongArray processed;
+    private final AtomicLongArray lastProcessedIds;
+    private final boolean[] completed;
+    private final long startedAt = System.nanoTime();
+
+    public BatchProgress(String jobName, List<BatchCheckpoint> checkpoints) {
+        this.jobName = jobName;
+        this.checkpoints = checkpoints;
+        this.processed = new AtomicLongArray(checkpoints.size());
+        this.lastProcessedIds = new AtomicLongArray(checkpoints.size());
+        this.completed = new boolean[checkpoints.size()];
+        for (int i = 0; i < checkpoints.size(); i++) {
+            lastProcessedIds.set(i, checkpoints.get(i).getLastProcessedId());
+            completed[i] = checkpoints.get(i).isCompleted();
+        }
+    }
+
+    void advance(int partition, int count, long lastProcessedId) {
+        processed.addAndGet(partition, count);
+        lastProcessedIds.set(partition, lastProcessedId);
+    }
+
+    synchronized void complete(int partition) {
+        completed[partition] = true;
+    }
+
+    public synchronized BatchReport report() {
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long total = 0;
+        List<BatchReport.PartitionReport> partitions = new ArrayList<>();
+        for (int i = 0; i < checkpoints.size(); i++) {
+            BatchCheckpoint checkpoint = checkpoints.get(i);
+            total += processed.get(i);
+            partitions.add(new BatchReport.PartitionReport(
+                    i,
+                    checkpoint.getRangeFrom(),
+                    checkpoint.getRangeTo(),
+                    processed.get(i),
+                    lastProcessedIds.get(i),
+                    completed[i]));
+        }
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return new BatchReport(jobName, elapsedNanos / 1_000_000, total,
+                seconds > 0 ? total / seconds : 0, partitions);
+    }
+}
@@ -0,0 +1,24 @@
+package study.querydsl.batch;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchReport {
+    private final String jobName;
+    private final long elapsedMillis;
+    private final long processed;
+    private final double rowsPerSecond;
+    private final List<PartitionReport> partitions;
+
+    @Data
+    public static class PartitionReport {
+        private final int partition;
+        private final long rangeFrom;
+        private final long rangeTo;
+        private final long processed;
+        private final long lastProcessedId;
+        private final boolean completed;
+    }
+}
@@ -0,0 +1,14 @@
+package study.querydsl.batch;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+// 기본키 구간 [from, to]
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class IdRange {
+    private final long from;
+    private final long to;
+}
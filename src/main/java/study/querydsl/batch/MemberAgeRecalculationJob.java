@@ -0,0 +1,29 @@
+package study.querydsl.batch;
+
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// 매년 전체 회원의 나이를 1씩 증가, 청크마다 update 한 번 (change_seq 도 같은 SQL 에서 행마다 부여)
+@Component
+public class MemberAgeRecalculationJob implements MemberChunkProcessor {
+    private static final String INCREMENT_AGE = "update Member m"
+            + " set m.age = m.age + 1, m.changeSeq = next_change_seq()"
+            + " where m.id in :ids";
+
+    @Override
+    public String getName() {
+        return "age-recalculation";
+    }
+
+    @Override
+    public void process(StatelessSession session, List<Member> chunk) {
+        List<Long> ids = chunk.stream().map(Member::getId).collect(Collectors.toList());
+        session.createQuery(INCREMENT_AGE)
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+}
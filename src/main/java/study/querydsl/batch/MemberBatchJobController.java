@@ -0,0 +1,53 @@
+package study.querydsl.batch;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RestController
+public class MemberBatchJobController {
+    private final PartitionedBatchExecutor executor;
+    private final Map<String, MemberChunkProcessor> jobs;
+
+    public MemberBatchJobController(PartitionedBatchExecutor executor, List<MemberChunkProcessor> jobs) {
+        this.executor = executor;
+        this.jobs = jobs.stream().collect(Collectors.toMap(MemberChunkProcessor::getName, Function.identity()));
+    }
+
+    @PostMapping("/batch/members/{jobName}")
+    public BatchReport run(@PathVariable String jobName,
+                           @RequestParam(defaultValue = "8") int partitions,
+                           @RequestParam(defaultValue = "4") int threads,
+                           @RequestParam(defaultValue = "500") int chunkSize) {
+        MemberChunkProcessor job = jobs.get(jobName);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "unknown batch job: " + jobName);
+        }
+        BatchOptions options = BatchOptions.builder()
+                .partitions(partitions)
+                .threads(threads)
+                .chunkSize(chunkSize)
+                .build();
+        try {
+            options.validate();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return executor.run(job, options);
+    }
+
+    @GetMapping("/batch/members/{jobName}")
+    public BatchReport progress(@PathVariable String jobName) {
+        return executor.progress(jobName)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "batch job is not running: " + jobName));
+    }
+}
@@ -0,0 +1,18 @@
+package study.querydsl.batch;
+
+import org.hibernate.StatelessSession;
+import study.querydsl.entity.Member;
+
+import java.util.List;
+
+/*
+ * 청크 단위 처리 로직
+ * StatelessSession 은 영속성 컨텍스트가 없으므로 변경 사항은 session.update(member) 나 벌크 update 로 직접 반영해야 함
+ * change_seq 도 직접 갱신해야 함 (HQL 의 next_change_seq(), 청크 트랜잭션의 변경 순번 창은 실행기가 관리)
+ * member.team 은 fetch join 으로 함께 조회됨
+ */
+public interface MemberChunkProcessor {
+    String getName();
+
+    void process(StatelessSession session, List<Member> chunk);
+}
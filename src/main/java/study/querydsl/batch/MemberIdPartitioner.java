@@ -0,0 +1,49 @@
+package study.querydsl.batch;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static study.querydsl.entity.QMember.member;
+
+/*
+ * member 테이블을 기본키 구간으로 분할
+ * 구간 경계는 id 의 min ~ max 를 균등하게 나눈 값이므로 id 분포가 고르지 않으면 구간별 건수는 달라질 수 있음
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberIdPartitioner {
+    private final JPAQueryFactory queryFactory;
+
+    public List<IdRange> partition(int partitions) {
+        Tuple bounds = queryFactory
+                .select(member.id.min(), member.id.max())
+                .from(member)
+                .fetchOne();
+
+        Long min = bounds == null ? null : bounds.get(member.id.min());
+        Long max = bounds == null ? null : bounds.get(member.id.max());
+        if (min == null || max == null) {
+            return new ArrayList<>();
+        }
+        return split(min, max, partitions);
+    }
+
+    static List<IdRange> split(long min, long max, int partitions) {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be positive: " + partitions);
+        }
+        long span = max - min + 1;
+        long size = Math.max(1, (span + partitions - 1) / partitions);
+
+        List<IdRange> ranges = new ArrayList<>();
+        for (long from = min; from <= max; from += size) {
+            ranges.add(new IdRange(from, Math.min(max, from + size - 1)));
+        }
+        return ranges;
+    }
+}
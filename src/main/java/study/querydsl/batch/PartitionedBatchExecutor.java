@@ -0,0 +1,193 @@
+package study.querydsl.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.springframework.stereotype.Component;
+import study.querydsl.changes.ChangeSequence;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+ * member 전체를 처리하는 배치 작업 실행기
+ * - 기본키 구간으로 파티션을 나누고 파티션별로 워커 스레드에서 StatelessSession 으로 처리
+ * - 청크마다 커밋하고 같은 트랜잭션에서 체크포인트를 갱신하므로 실패 후 다시 실행하면 이어서 처리
+ * - 모든 파티션이 끝나면 체크포인트를 삭제
+ * - StatelessSession 은 엔티티 이벤트가 없으므로 change_seq 는 처리기가 SQL(next value for change_sequence)로 직접 갱신
+ *   청크 트랜잭션마다 변경 순번 창을 열고 커밋/롤백 후 닫아, 작업이 끝나기 전에도 커밋된 청크가 변경 조회에 보임
+ */
+@Slf4j
+@Component
+public class PartitionedBatchExecutor {
+    private static final String CHUNK_QUERY = "select m from Member m left join fetch m.team"
+            + " where m.id > :lastId and m.id <= :to order by m.id";
+
+    private final SessionFactory sessionFactory;
+    private final MemberIdPartitioner partitioner;
+    private final ChangeSequence changeSequence;
+    private final Set<String> claimed = ConcurrentHashMap.newKeySet();
+    private final Map<String, BatchProgress> running = new ConcurrentHashMap<>();
+
+    public PartitionedBatchExecutor(EntityManagerFactory entityManagerFactory, MemberIdPartitioner partitioner,
+                                    ChangeSequence changeSequence) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.partitioner = partitioner;
+        this.changeSequence = changeSequence;
+    }
+
+    public Optional<BatchReport> progress(String jobName) {
+        return Optional.ofNullable(running.get(jobName)).map(BatchProgress::report);
+    }
+
+    public BatchReport run(MemberChunkProcessor processor, BatchOptions options) {
+        options.validate();
+        String jobName = processor.getName();
+        // 체크포인트를 만들기 전에 선점해야 동시에 들어온 요청이 같은 구간을 두 번 처리하지 않음
+        if (!claimed.add(jobName)) {
+            throw new BatchJobRunningException(jobName);
+        }
+        try {
+            List<BatchCheckpoint> checkpoints = prepareCheckpoints(jobName, options);
+            BatchProgress progress = new BatchProgress(jobName, checkpoints);
+            running.put(jobName, progress);
+            return run(processor, options, checkpoints, progress);
+        } finally {
+            running.remove(jobName);
+            claimed.remove(jobName);
+        }
+    }
+
+    private BatchReport run(MemberChunkProcessor processor, BatchOptions options,
+                            List<BatchCheckpoint> checkpoints, BatchProgress progress) {
+        String jobName = processor.getName();
+        ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < checkpoints.size(); i++) {
+                BatchCheckpoint checkpoint = checkpoints.get(i);
+                if (checkpoint.isCompleted()) {
+                    continue;
+                }
+                int partition = i;
+                futures.add(executor.submit(() ->
+                        processPartition(processor, checkpoint, partition, options.getChunkSize(), progress)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            deleteCheckpoints(jobName);
+            BatchReport report = progress.report();
+            log.info("batch job {} finished: {} rows in {}ms ({} rows/s)",
+                    jobName, report.getProcessed(), report.getElapsedMillis(), (long) report.getRowsPerSecond());
+            return report;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("batch job interrupted: " + jobName, e);
+        } catch (ExecutionException e) {
+            // 완료된 청크는 커밋되어 있으므로 다시 실행하면 체크포인트부터 재개
+            throw new IllegalStateException("batch job failed, rerun to resume: " + jobName, e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void processPartition(MemberChunkProcessor processor, BatchCheckpoint checkpoint,
+                                  int partition, int chunkSize, BatchProgress progress) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            while (true) {
+                // 창은 순번을 받기 전에 열어야 함
+                ChangeSequence.Window changeWindow = changeSequence.open();
+                Transaction tx = session.beginTransaction();
+                try {
+                    List<Member> chunk = session.createQuery(CHUNK_QUERY, Member.class)
+                            .setParameter("lastId", checkpoint.getLastProcessedId())
+                            .setParameter("to", checkpoint.getRangeTo())
+                            .setMaxResults(chunkSize)
+                            .getResultList();
+
+                    if (chunk.isEmpty()) {
+                        checkpoint.complete();
+                        session.update(checkpoint);
+                        tx.commit();
+                        progress.complete(partition);
+                        return;
+                    }
+
+                    processor.process(session, chunk);
+                    long lastId = chunk.get(chunk.size() - 1).getId();
+                    checkpoint.advance(lastId);
+                    session.update(checkpoint);
+                    tx.commit();
+                    progress.advance(partition, chunk.size(), lastId);
+                } catch (RuntimeException e) {
+                    tx.rollback();
+                    throw e;
+                } finally {
+                    changeWindow.close();
+                }
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    // 미완료 체크포인트가 남아 있으면 재사용하고, 없으면 새로 분할
+    private List<BatchCheckpoint> prepareCheckpoints(String jobName, BatchOptions options) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            Transaction tx = session.beginTransaction();
+            try {
+                List<BatchCheckpoint> checkpoints = session.createQuery(
+                                "select c from BatchCheckpoint c where c.jobName = :jobName order by c.partitionIndex",
+                                BatchCheckpoint.class)
+                        .setParameter("jobName", jobName)
+                        .getResultList();
+
+                if (checkpoints.isEmpty()) {
+                    List<IdRange> ranges = partitioner.partition(options.getPartitions());
+                    for (int i = 0; i < ranges.size(); i++) {
+                        BatchCheckpoint checkpoint = new BatchCheckpoint(jobName, i, ranges.get(i));
+                        session.insert(checkpoint);
+                        checkpoints.add(checkpoint);
+                    }
+                } else {
+                    log.info("resuming batch job {} from checkpoints {}", jobName, checkpoints);
+                }
+                tx.commit();
+                return checkpoints;
+            } catch (RuntimeException e) {
+                tx.rollback();
+                throw e;
+            }
+        } finally {
+            session.close();
+        }
+    }
+
+    private void deleteCheckpoints(String jobName) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            Transaction tx = session.beginTransaction();
+            session.createQuery("delete from BatchCheckpoint c where c.jobName = :jobName")
+                    .setParameter("jobName", jobName)
+                    .executeUpdate();
+            tx.commit();
+        } finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package study.querydsl.bulkimport;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ImportOptions {
+    static final int MAX_THREADS = 32;
+    static final int MAX_BATCH_SIZE = 100_000;
+
+    // 병렬 커넥션 수
+    @Builder.Default
+    private int threads = 4;
+    @Builder.Default
+    private int batchSize = 1000;
+    // 잘못된 행을 몇 건까지 건너뛸지, 넘으면 중단
+    @Builder.Default
+    private long maxErrors = 0;
+    // 사전에 없는 팀 이름이면 팀을 새로 생성, false 면 오류로 처리
+    @Builder.Default
+    private boolean createMissingTeams = true;
+
+    public void validate() {
+        if (threads < 1 || threads > MAX_THREADS) {
+            throw new IllegalArgumentException("threads must be between 1 and " + MAX_THREADS + ": " + threads);
+        }
+        if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batchSize must be between 1 and " + MAX_BATCH_SIZE + ": " + batchSize);
+        }
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("maxErrors must not be negative: " + maxErrors);
+        }
+    }
+}
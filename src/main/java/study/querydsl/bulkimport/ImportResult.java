@@ -0,0 +1,15 @@
+package study.querydsl.bulkimport;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ImportResult {
+    private final long rows;
+    private final long errors;
+    private final long bytes;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+    private final List<String> errorSamples;
+}
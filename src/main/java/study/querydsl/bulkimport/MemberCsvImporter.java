@@ -0,0 +1,551 @@
+package study.querydsl.bulkimport;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import study.querydsl.changes.ChangeSequence;
+import study.querydsl.repository.support.FullTextIndex;
+import study.querydsl.repository.support.MemberUsernameFilter;
+import study.querydsl.repository.support.TeamNameDictionary;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * username,age,team_name 형식의 CSV 를 member 로 대량 적재
+ * - 파일을 줄 경계에 맞춰 구간으로 나누고 구간별로 memory-map
+ * - age 는 바이트에서 바로 파싱, 팀 이름은 바이트 구간으로 TeamDictionary 에서 조회
+ * - 구간마다 별도 커넥션에서 JDBC batch insert (batch 단위 커밋)
+ * 식별자는 Hibernate 가 사용하는 hibernate_sequence 에서 발급 (H2 문법)
+ */
+@Slf4j
+@Component
+public class MemberCsvImporter {
+    private static final String INSERT_MEMBER =
+            "insert into member (member_id, username, age, team_id, change_seq)"
+                    + " values (next value for hibernate_sequence, ?, ?, ?, next value for change_sequence)";
+    private static final String INSERT_TEAM =
+            "insert into team (team_id, name, change_seq) values (?, ?, next value for change_sequence)";
+    private static final String NEXT_ID = "select next value for hibernate_sequence";
+    // MappedByteBuffer 는 int 로 인덱싱되므로 구간 하나의 최대 크기를 제한
+    private static final long MAX_SEGMENT_SIZE = 1L << 30;
+    private static final int MAX_ERROR_SAMPLES = 20;
+
+    private final DataSource dataSource;
+    private final MemberUsernameFilter usernameFilter;
+    private final TeamNameDictionary teamNameDictionary;
+    private final ChangeSequence changeSequence;
+    private final FullTextIndex fullTextIndex;
+    private final Counter rowCounter;
+    private final Counter errorCounter;
+
+    public MemberCsvImporter(DataSource dataSource, MemberUsernameFilter usernameFilter,
+                             TeamNameDictionary teamNameDictionary, ChangeSequence changeSequence,
+                             FullTextIndex fullTextIndex, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.usernameFilter = usernameFilter;
+        this.teamNameDictionary = teamNameDictionary;
+        this.changeSequence = changeSequence;
+        this.fullTextIndex = fullTextIndex;
+        this.rowCounter = meterRegistry.counter("member.import.rows");
+        this.errorCounter = meterRegistry.counter("member.import.errors");
+    }
+
+    public ImportResult importFile(Path file, ImportOptions options) throws IOException {
+        options.validate();
+        long start = System.nanoTime();
+        TeamDictionary teams = new TeamDictionary(loadTeams());
+        ImportContext context = new ImportContext(options, teams);
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        // 적재가 끝날 때까지 변경 조회(/members/changes)가 이번 적재분을 건너뛰지 않도록 창을 열어 둠
+        // 모든 구간 작업이 끝난 뒤에 닫아야 하므로 try-with-resources 로 닫지 않음
+        // 행마다 도는 회원 전문 검색 트리거 대신 끝난 뒤 member 전체를 한 번 다시 색인 (작은 파일이면 오히려 손해일 수 있음)
+        FullTextIndex.Suspension suspension = fullTextIndex.suspendMemberIndex();
+        ChangeSequence.Window window = changeSequence.open();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            reporter.scheduleAtFixedRate(() -> log.info("member import {}: {}% ({} rows, {} errors)",
+                    file.getFileName(), size == 0 ? 100 : context.bytes.get() * 100 / size,
+                    context.rows.get(), context.errors.get()), 1, 1, TimeUnit.SECONDS);
+
+            List<Future<?>> futures = new ArrayList<>();
+            long[] boundaries = boundaries(channel, size, options.getThreads());
+            for (int i = 0; i + 1 < boundaries.length; i++) {
+                long from = boundaries[i];
+                long to = boundaries[i + 1];
+                if (from == to) {
+                    continue;
+                }
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+                boolean first = i == 0;
+                futures.add(executor.submit(() -> {
+                    importSegment(segment, first, context);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            long elapsedNanos = System.nanoTime() - start;
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            ImportResult result = new ImportResult(
+                    context.rows.get(),
+                    context.errors.get(),
+                    size,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    seconds > 0 ? context.rows.get() / seconds : 0,
+                    new ArrayList<>(context.errorSamples));
+            log.info("member import finished: {}", result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("member import interrupted", e);
+        } catch (ExecutionException e) {
+            // 이미 커밋된 batch 는 남아 있음
+            context.aborted.set(true);
+            throw new IllegalStateException("member import aborted after " + context.rows.get() + " rows", e.getCause());
+        } finally {
+            reporter.shutdownNow();
+            // 실패했으면 남은 구간은 진행 중인 batch 까지만 커밋하고 멈춤
+            context.aborted.set(true);
+            awaitTermination(executor);
+            window.close();
+            suspension.close();
+        }
+    }
+
+    // 창을 닫은 뒤에 커밋되는 구간이 없도록 인터럽트 없이 끝날 때까지 기다림
+    private void awaitTermination(ExecutorService executor) {
+        executor.shutdown();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * 파일을 대략 같은 크기로 나누되, 경계를 다음 줄의 시작으로 맞춤
+     * 따옴표 안의 줄바꿈은 행의 일부이므로(LineParser) 중간 위치에서 찾으면 행이 잘릴 수 있음
+     * 처음부터 LineParser 와 같은 규칙으로 따옴표 상태를 따라가며 경계를 찾음 (바이트만 훑는 순차 읽기 한 번)
+     */
+    private long[] boundaries(FileChannel channel, long size, int threads) throws IOException {
+        int segments = (int) Math.max(threads, (size + MAX_SEGMENT_SIZE - 1) / MAX_SEGMENT_SIZE);
+        long[] boundaries = new long[segments + 1];
+        Arrays.fill(boundaries, 1, segments + 1, size);
+
+        ByteBuffer probe = ByteBuffer.allocate(64 * 1024);
+        int next = 1;
+        long target = size / segments;
+        boolean fieldStart = true;
+        boolean inQuotes = false;
+        // 따옴표 안에서 " 를 만남, 바로 다음이 " 면 이스케이프
+        boolean closing = false;
+        long position = 0;
+        while (next < segments && position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read && next < segments; i++) {
+                byte b = probe.get(i);
+                if (closing) {
+                    closing = false;
+                    if (b == '"') {
+                        inQuotes = true;
+                        continue;
+                    }
+                }
+                if (inQuotes) {
+                    if (b == '"') {
+                        inQuotes = false;
+                        closing = true;
+                    }
+                    continue;
+                }
+                if (b == '"' && fieldStart) {
+                    inQuotes = true;
+                } else if (b == '\n' && position + i + 1 >= target) {
+                    boundaries[next++] = position + i + 1;
+                    target = size * next / segments;
+                }
+                fieldStart = b == ',' || b == '\n';
+            }
+            position += read;
+        }
+        return boundaries;
+    }
+
+    private void importSegment(MappedByteBuffer buffer, boolean first, ImportContext context) throws SQLException {
+        ImportOptions options = context.options;
+        LineParser parser = new LineParser(buffer);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_MEMBER)) {
+                int pending = 0;
+                int pendingBytesFrom = 0;
+                if (first && parser.next() && !parser.isHeader()) {
+                    parser.reset();
+                }
+                while (!context.aborted.get() && parser.next()) {
+                    if (parser.isBlank()) {
+                        continue;
+                    }
+                    if (!bind(insert, parser, context)) {
+                        continue;
+                    }
+                    insert.addBatch();
+                    if (++pending == options.getBatchSize()) {
+                        flush(connection, insert, context, pending, parser.position() - pendingBytesFrom);
+                        pendingBytesFrom = parser.position();
+                        pending = 0;
+                    }
+                }
+                flush(connection, insert, context, pending, parser.position() - pendingBytesFrom);
+                context.bytes.addAndGet(buffer.limit() - parser.position());
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void flush(Connection connection, PreparedStatement insert, ImportContext context,
+                       int pending, int bytes) throws SQLException {
+        if (pending > 0) {
+            insert.executeBatch();
+            connection.commit();
+            context.rows.addAndGet(pending);
+            rowCounter.increment(pending);
+        }
+        context.bytes.addAndGet(bytes);
+    }
+
+    // false 면 잘못된 행이라 건너뜀
+    private boolean bind(PreparedStatement insert, LineParser parser, ImportContext context) throws SQLException {
+        if (parser.fieldCount() != 3) {
+            return error(context, parser, "expected 3 fields but was " + parser.fieldCount());
+        }
+        String username = parser.string(0);
+        if (username.isEmpty()) {
+            return error(context, parser, "username is empty");
+        }
+        int age = parser.integer(1);
+        if (age < 0) {
+            return error(context, parser, "invalid age");
+        }
+
+        Long teamId = null;
+        if (parser.length(2) > 0) {
+            teamId = parser.isPlain(2)
+                    ? context.teams.get(parser.buffer(), parser.start(2), parser.length(2))
+                    : context.teams.get(ByteBuffer.wrap(parser.unescaped(2)), 0, parser.unescapedLength());
+            if (teamId == null) {
+                if (!context.options.isCreateMissingTeams()) {
+                    return error(context, parser, "unknown team: " + parser.string(2));
+                }
+                teamId = createTeam(parser.string(2), context.teams);
+            }
+        }
+
+        // JDBC insert 는 엔티티 이벤트가 없으므로 커밋 전에 직접 반영
+        usernameFilter.put(username);
+        insert.setString(1, username);
+        insert.setInt(2, age);
+        if (teamId == null) {
+            insert.setNull(3, Types.BIGINT);
+        } else {
+            insert.setLong(3, teamId);
+        }
+        return true;
+    }
+
+    private boolean error(ImportContext context, LineParser parser, String message) {
+        long errors = context.errors.incrementAndGet();
+        errorCounter.increment();
+        if (context.errorSamples.size() < MAX_ERROR_SAMPLES) {
+            context.errorSamples.add(message + " (segment offset " + parser.lineStart() + ")");
+        }
+        if (errors > context.options.getMaxErrors()) {
+            context.aborted.set(true);
+            throw new IllegalStateException("too many invalid rows: " + errors + ", last: " + message);
+        }
+        return false;
+    }
+
+    // 새 팀은 별도 커넥션에서 바로 커밋하여 다른 구간에서도 곧바로 사용할 수 있게 함
+    private synchronized Long createTeam(String name, TeamDictionary teams) throws SQLException {
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        Long existing = teams.get(ByteBuffer.wrap(key), 0, key.length);
+        if (existing != null) {
+            return existing;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            long id;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(NEXT_ID)) {
+                rs.next();
+                id = rs.getLong(1);
+            }
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_TEAM)) {
+                insert.setLong(1, id);
+                insert.setString(2, name);
+                insert.executeUpdate();
+            }
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            teamNameDictionary.invalidate();
+            teams.put(name, id);
+            return id;
+        }
+    }
+
+    private Map<String, Long> loadTeams() throws IOException {
+        Map<String, Long> teams = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select team_id, name from team")) {
+            while (rs.next()) {
+                if (rs.getString(2) != null) {
+                    teams.put(rs.getString(2), rs.getLong(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("failed to load teams", e);
+        }
+        return teams;
+    }
+
+    private static class ImportContext {
+        private final ImportOptions options;
+        private final TeamDictionary teams;
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicBoolean aborted = new AtomicBoolean();
+        private final Queue<String> errorSamples = new ConcurrentLinkedQueue<>();
+
+        ImportContext(ImportOptions options, TeamDictionary teams) {
+            this.options = options;
+            this.teams = teams;
+        }
+    }
+
+    /*
+     * 매핑된 버퍼 위에서 한 줄씩 필드 위치만 기록
+     * 따옴표로 감싼 필드도 지원하며, 이스케이프("")가 있는 필드만 별도 배열로 복사
+     */
+    static class LineParser {
+        private static final int MAX_FIELDS = 8;
+
+        private final ByteBuffer buffer;
+        private final int[] starts = new int[MAX_FIELDS];
+        private final int[] ends = new int[MAX_FIELDS];
+        private final boolean[] quoted = new boolean[MAX_FIELDS];
+        private byte[] scratch = new byte[256];
+        private int scratchLength;
+        private int position;
+        private int lineStart;
+        private int fieldCount;
+
+        LineParser(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        boolean next() {
+            int limit = buffer.limit();
+            if (position >= limit) {
+                return false;
+            }
+            lineStart = position;
+            fieldCount = 0;
+            int i = position;
+            int fieldStart = i;
+            boolean inQuotes = false;
+            boolean fieldQuoted = false;
+            while (i < limit) {
+                byte b = buffer.get(i);
+                if (inQuotes) {
+                    if (b == '"') {
+                        if (i + 1 < limit && buffer.get(i + 1) == '"') {
+                            i++;
+                        } else {
+                            inQuotes = false;
+                        }
+                    }
+                } else if (b == '"' && i == fieldStart) {
+                    inQuotes = true;
+                    fieldQuoted = true;
+                } else if (b == ',') {
+                    addField(fieldStart, i, fieldQuoted);
+                    fieldStart = i + 1;
+                    fieldQuoted = false;
+                } else if (b == '\n') {
+                    break;
+                }
+                i++;
+            }
+            int end = i;
+            if (end > fieldStart && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            addField(fieldStart, end, fieldQuoted);
+            position = Math.min(limit, i + 1);
+            return true;
+        }
+
+        void reset() {
+            position = 0;
+        }
+
+        int position() {
+            return position;
+        }
+
+        int lineStart() {
+            return lineStart;
+        }
+
+        boolean isBlank() {
+            return fieldCount == 1 && ends[0] == starts[0];
+        }
+
+        boolean isHeader() {
+            byte[] header = "username".getBytes(StandardCharsets.US_ASCII);
+            if (fieldCount == 0 || length(0) != header.length) {
+                return false;
+            }
+            for (int i = 0; i < header.length; i++) {
+                if (buffer.get(starts[0] + i) != header[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int fieldCount() {
+            return fieldCount;
+        }
+
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        int start(int field) {
+            return starts[field];
+        }
+
+        int length(int field) {
+            return ends[field] - starts[field];
+        }
+
+        // 따옴표도, 이스케이프도 없는 필드는 버퍼 구간을 그대로 사용할 수 있음
+        boolean isPlain(int field) {
+            return !quoted[field];
+        }
+
+        // -1 이면 숫자가 아님
+        int integer(int field) {
+            int length = length(field);
+            if (length == 0 || length > 9) {
+                return -1;
+            }
+            int value = 0;
+            for (int i = starts[field]; i < ends[field]; i++) {
+                byte b = buffer.get(i);
+                if (b < '0' || b > '9') {
+                    return -1;
+                }
+                value = value * 10 + (b - '0');
+            }
+            return value;
+        }
+
+        String string(int field) {
+            if (isPlain(field)) {
+                int length = length(field);
+                ensureScratch(length);
+                for (int i = 0; i < length; i++) {
+                    scratch[i] = buffer.get(starts[field] + i);
+                }
+                return new String(scratch, 0, length, StandardCharsets.UTF_8);
+            }
+            unescaped(field);
+            return new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+        }
+
+        byte[] unescaped(int field) {
+            ensureScratch(length(field));
+            scratchLength = 0;
+            // 앞뒤 따옴표 제외, "" 는 " 하나로
+            for (int i = starts[field] + 1; i < ends[field] - 1; i++) {
+                byte b = buffer.get(i);
+                scratch[scratchLength++] = b;
+                if (b == '"') {
+                    i++;
+                }
+            }
+            return scratch;
+        }
+
+        int unescapedLength() {
+            return scratchLength;
+        }
+
+        private void addField(int start, int end, boolean fieldQuoted) {
+            if (fieldCount < MAX_FIELDS) {
+                starts[fieldCount] = start;
+                ends[fieldCount] = end;
+                quoted[fieldCount] = fieldQuoted;
+            }
+            fieldCount++;
+        }
+
+        private void ensureScratch(int length) {
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+        }
+    }
+}
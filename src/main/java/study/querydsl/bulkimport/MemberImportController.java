@@ -0,0 +1,50 @@
+package study.querydsl.bulkimport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@RestController
+public class MemberImportController {
+    private final MemberCsvImporter importer;
+    private final Path directory;
+
+    public MemberImportController(MemberCsvImporter importer,
+                                  @Value("${member.import.directory:import}") String directory) {
+        this.importer = importer;
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+    }
+
+    // 설정된 디렉터리 안의 파일만 적재
+    @PostMapping("/import/members")
+    public ImportResult importMembers(@RequestParam String file,
+                                      @RequestParam(defaultValue = "4") int threads,
+                                      @RequestParam(defaultValue = "1000") int batchSize,
+                                      @RequestParam(defaultValue = "0") long maxErrors,
+                                      @RequestParam(defaultValue = "true") boolean createMissingTeams) throws IOException {
+        ImportOptions options = ImportOptions.builder()
+                .threads(threads)
+                .batchSize(batchSize)
+                .maxErrors(maxErrors)
+                .createMissingTeams(createMissingTeams)
+                .build();
+        try {
+            options.validate();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Path path = directory.resolve(file).normalize();
+        if (!path.startsWith(directory) || !Files.isRegularFile(path)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "file not found in import directory: " + file);
+        }
+        return importer.importFile(path, options);
+    }
+}
@@ -0,0 +1,102 @@
+package study.querydsl.bulkimport;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/*
+ * 팀 이름(UTF-8 바이트) -> 팀 id 사전
+ * 매핑된 파일의 바이트 구간으로 바로 조회하므로 행마다 팀 이름 String 을 만들지 않음
+ * 조회는 락 없이 volatile 테이블을 읽고, 추가는 copy-on-write 로 처리
+ */
+class TeamDictionary {
+    private volatile Table table;
+
+    TeamDictionary(Map<String, Long> teams) {
+        Table initial = new Table(Math.max(16, Integer.highestOneBit(Math.max(1, teams.size() * 2)) * 2));
+        teams.forEach((name, id) -> initial.put(name.getBytes(StandardCharsets.UTF_8), id));
+        this.table = initial;
+    }
+
+    // 없으면 null
+    Long get(ByteBuffer buffer, int offset, int length) {
+        return table.get(buffer, offset, length);
+    }
+
+    synchronized void put(String name, long id) {
+        Table current = table;
+        Table copy = current.copy(current.size * 2 >= current.keys.length ? current.keys.length * 2 : current.keys.length);
+        copy.put(name.getBytes(StandardCharsets.UTF_8), id);
+        table = copy;
+    }
+
+    private static int hash(ByteBuffer buffer, int offset, int length) {
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + buffer.get(offset + i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int hash(byte[] key) {
+        return hash(ByteBuffer.wrap(key), 0, key.length);
+    }
+
+    private static class Table {
+        private final byte[][] keys;
+        private final long[] values;
+        private int size;
+
+        Table(int capacity) {
+            keys = new byte[capacity][];
+            values = new long[capacity];
+        }
+
+        Long get(ByteBuffer buffer, int offset, int length) {
+            int mask = keys.length - 1;
+            for (int i = hash(buffer, offset, length) & mask; keys[i] != null; i = (i + 1) & mask) {
+                if (matches(keys[i], buffer, offset, length)) {
+                    return values[i];
+                }
+            }
+            return null;
+        }
+
+        void put(byte[] key, long value) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (keys[i] != null) {
+                if (matches(keys[i], ByteBuffer.wrap(key), 0, key.length)) {
+                    values[i] = value;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            values[i] = value;
+            size++;
+        }
+
+        Table copy(int capacity) {
+            Table copy = new Table(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    copy.put(keys[i], values[i]);
+                }
+            }
+            return copy;
+        }
+
+        private static boolean matches(byte[] key, ByteBuffer buffer, int offset, int length) {
+            if (key.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (key[i] != buffer.get(offset + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package study.querydsl.changes;
+
+import lombok.Data;
+
+// 변경 조회 마지막 줄, 다음 요청은 since=next, more 가 false 면 따라잡은 상태
+@Data
+public class ChangeCheckpoint {
+    private final String op = "checkpoint";
+    private final long next;
+    private final boolean more;
+}
@@ -0,0 +1,60 @@
+package study.querydsl.changes;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/*
+ * since 이후의 member/team 변경과 삭제를 change_seq 순서로 조회
+ * 테이블마다 change_seq 인덱스로 limit 개씩만 읽은 뒤 합쳐서 다시 limit 개를 고름
+ * watermark 이후 순번은 아직 커밋되지 않은 앞 순번이 있을 수 있으므로 다음 요청으로 미룸
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeFeed {
+    private static final String CHANGES_SQL = "select * from ("
+            + " (select change_seq, 'member' as entity_type, member_id as id, username, age, team_id,"
+            + "         cast(null as varchar(255)) as name, false as deleted"
+            + "    from member where change_seq > ? and change_seq <= ? order by change_seq limit ?)"
+            + " union all"
+            + " (select change_seq, 'team', team_id, cast(null as varchar(255)), cast(null as int), cast(null as bigint),"
+            + "         name, false"
+            + "    from team where change_seq > ? and change_seq <= ? order by change_seq limit ?)"
+            + " union all"
+            + " (select change_seq, entity_type, entity_id, cast(null as varchar(255)), cast(null as int),"
+            + "         cast(null as bigint), cast(null as varchar(255)), true"
+            + "    from change_tombstone where change_seq > ? and change_seq <= ? order by change_seq limit ?)"
+            + ") changes order by change_seq limit ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeSequence changeSequence;
+
+    // 마지막 줄에 쓸 체크포인트를 돌려줌
+    public ChangeCheckpoint stream(long since, int limit, Consumer<ChangeRecord> consumer) {
+        long watermark = changeSequence.watermark();
+        long[] last = {since};
+        int[] count = {0};
+        jdbcTemplate.query(CHANGES_SQL, rs -> {
+            boolean deleted = rs.getBoolean("deleted");
+            ChangeRecord record = new ChangeRecord(
+                    rs.getLong("change_seq"),
+                    rs.getString("entity_type"),
+                    deleted ? "delete" : "upsert",
+                    rs.getLong("id"),
+                    rs.getString("username"),
+                    rs.getObject("age", Integer.class),
+                    rs.getObject("team_id", Long.class),
+                    rs.getString("name"));
+            consumer.accept(record);
+            last[0] = record.getSeq();
+            count[0]++;
+        }, since, watermark, limit, since, watermark, limit, since, watermark, limit, limit);
+
+        // 가져올 것이 없으면 watermark 까지 건너뛰어도 됨
+        return count[0] == limit
+                ? new ChangeCheckpoint(last[0], true)
+                : new ChangeCheckpoint(Math.max(since, watermark), false);
+    }
+}
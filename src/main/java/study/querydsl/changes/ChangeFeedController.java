@@ -0,0 +1,55 @@
+package study.querydsl.changes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequiredArgsConstructor
+public class ChangeFeedController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_LIMIT = 10_000;
+
+    private final ChangeFeed changeFeed;
+    private final ObjectMapper objectMapper;
+
+    /*
+     * 한 줄에 변경 하나 (NDJSON), 마지막 줄은 체크포인트
+     * 받는 쪽은 since=0 부터 체크포인트의 next 로 more 가 false 가 될 때까지 반복
+     */
+    @GetMapping("/members/changes")
+    public ResponseEntity<StreamingResponseBody> changes(@RequestParam(defaultValue = "0") long since,
+                                                         @RequestParam(defaultValue = "1000") int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            try {
+                ChangeCheckpoint checkpoint = changeFeed.stream(since, boundedLimit, record -> writeLine(out, record));
+                writeLine(out, checkpoint);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package study.querydsl.changes;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+// 변경 조회 한 줄, op 는 upsert / delete
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeRecord {
+    private final long seq;
+    private final String type;
+    private final String op;
+    private final Long id;
+    private final String username;
+    private final Integer age;
+    private final Long teamId;
+    private final String name;
+}
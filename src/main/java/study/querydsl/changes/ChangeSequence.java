@@ -0,0 +1,168 @@
+package study.querydsl.changes;
+
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/*
+ * member/team 의 change_seq 와 삭제 기록(change_tombstone)에 쓰는 순번
+ * DB 시퀀스(change_sequence)라 벌크 수정에서도 행마다 다른 값을 받음
+ *
+ * 순번은 flush 시점에 받고 커밋은 나중이므로, 작은 순번이 큰 순번보다 늦게 커밋될 수 있음
+ * 순번을 받는 쪽은 커밋될 때까지 창(Window)을 열어두고,
+ * 변경 조회는 열린 창 중 가장 작은 순번 아래까지만 돌려줘서(watermark) 건너뛰는 변경이 없게 함
+ * - 스프링 트랜잭션 안의 next()/touch() 는 트랜잭션이 끝날 때 자동으로 닫힘
+ * - 그 밖(StatelessSession, JDBC)은 open() 으로 연 창을 커밋 후 닫아야 함
+ * 창이 닫힐 때마다 올라가는 version() 으로 이 프로세스의 쓰기 여부를 DB 조회 없이 확인할 수 있음
+ * 단, touch 하지 않은 벌크 update/delete, 다른 노드, SQL 로 직접 한 변경은 version 에 반영되지 않음
+ */
+@Component
+// 스키마 생성(ddl-auto) 이후에 시퀀스를 만듦
+@DependsOn("entityManagerFactory")
+public class ChangeSequence {
+    public static final String NEXT_VALUE_SQL = "next value for change_sequence";
+    // 순번을 소비하지 않고 마지막으로 발급된 값을 읽음 (base_value 는 다음에 줄 값)
+    private static final String CURRENT_VALUE_SQL = "select base_value - increment from information_schema.sequences"
+            + " where sequence_schema = current_schema and sequence_name = 'CHANGE_SEQUENCE'";
+    // HQL 에서 쓰기 위해 등록한 함수 (SqlFunctionContributor)
+    public static final NumberExpression<Long> NEXT_VALUE = Expressions.numberTemplate(Long.class, "next_change_seq()");
+
+    private static final Object WINDOW_KEY = ChangeSequence.class.getName() + ".window";
+
+    private final JdbcTemplate jdbcTemplate;
+    // 창을 열 때 알고 있던 가장 큰 순번 -> 열린 창 수
+    private final ConcurrentSkipListMap<Long, Integer> openWindows = new ConcurrentSkipListMap<>();
+    private final AtomicLong lastIssued = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    public ChangeSequence(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void createSequence() {
+        jdbcTemplate.execute("create sequence if not exists change_sequence");
+        fetch();
+    }
+
+    // 현재 스프링 트랜잭션이 끝날 때까지 watermark 를 붙잡아 둠
+    public long next() {
+        bindTransactionWindow();
+        return fetch();
+    }
+
+    public Window open() {
+        return new Window();
+    }
+
+    // 벌크 수정에 change_seq 갱신 추가
+    public JPAUpdateClause touch(JPAUpdateClause update, NumberPath<Long> changeSeq) {
+        bindTransactionWindow();
+        return update.set(changeSeq, NEXT_VALUE);
+    }
+
+    /*
+     * member/team 벌크 수정은 queryFactory.update(...) 대신 이것으로 시작
+     * touch 없이 실행한 벌크 수정은 change_seq 가 그대로라 변경 조회(/members/changes)와 페이지 앵커 검증에서 빠짐
+     */
+    public JPAUpdateClause updateMembers(JPAQueryFactory queryFactory) {
+        return touch(queryFactory.update(member), member.changeSeq);
+    }
+
+    public JPAUpdateClause updateTeams(JPAQueryFactory queryFactory) {
+        return touch(queryFactory.update(team), team.changeSeq);
+    }
+
+    // 이 값 이하의 순번은 모두 커밋됐거나 롤백됨, 순번을 소비하지 않으므로 폴링마다 불러도 됨
+    public long watermark() {
+        long ceiling = current();
+        Long oldest = firstOpenWindow();
+        return oldest == null ? ceiling : Math.min(ceiling, oldest);
+    }
+
+    // 창을 거친 쓰기가 끝날 때(커밋/롤백)마다 증가, DB 조회 없음
+    public long version() {
+        return version.get();
+    }
+
+    // 현재 스프링 트랜잭션이 member/team 을 변경했고 아직 끝나지 않았으면 true
+    public boolean isWritingInTransaction() {
+        return TransactionSynchronizationManager.hasResource(WINDOW_KEY);
+    }
+
+    private Long firstOpenWindow() {
+        Map.Entry<Long, Integer> first = openWindows.firstEntry();
+        return first == null ? null : first.getKey();
+    }
+
+    private long fetch() {
+        Long value = jdbcTemplate.queryForObject("select " + NEXT_VALUE_SQL, Long.class);
+        lastIssued.accumulateAndGet(value, Math::max);
+        return value;
+    }
+
+    // 다른 노드나 HQL(next_change_seq())이 받은 순번도 포함
+    private long current() {
+        Long value = jdbcTemplate.queryForObject(CURRENT_VALUE_SQL, Long.class);
+        lastIssued.accumulateAndGet(value, Math::max);
+        return value;
+    }
+
+    private void bindTransactionWindow() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(WINDOW_KEY)) {
+            return;
+        }
+        Window window = open();
+        TransactionSynchronizationManager.bindResource(WINDOW_KEY, window);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WINDOW_KEY);
+                window.close();
+            }
+        });
+    }
+
+    /*
+     * 창은 순번을 받기 전에 등록해야 함
+     * 등록 시점에 알고 있던 가장 큰 순번(lastIssued)을 키로 쓰므로, 이 창에서 받는 순번은 모두 키보다 큼
+     */
+    public class Window implements AutoCloseable {
+        private final long key;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Window() {
+            key = lastIssued.get();
+            openWindows.merge(key, 1, Integer::sum);
+        }
+
+        public long next() {
+            return fetch();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                openWindows.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+                version.incrementAndGet();
+            }
+        }
+    }
+}
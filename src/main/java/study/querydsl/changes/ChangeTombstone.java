@@ -0,0 +1,21 @@
+package study.querydsl.changes;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+// 삭제된 member/team 기록, 변경 조회에서 delete 로 내려감
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class ChangeTombstone {
+    @Id
+    private Long changeSeq;
+    private String entityType;
+    private Long entityId;
+}
@@ -0,0 +1,100 @@
+package study.querydsl.changes;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PreInsertEvent;
+import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.event.spi.PreUpdateEvent;
+import org.hibernate.event.spi.PreUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.HibernateEventListeners;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+
+/*
+ * member/team 의 insert/update 마다 change_seq 를 새로 부여하고, 삭제는 change_tombstone 에 기록
+ * 같은 flush 안에서 실행되므로 변경과 기록이 함께 커밋되거나 함께 롤백됨
+ * JPQL/JDBC 벌크 연산은 이벤트가 없으므로 ChangeSequence.touch 나 SQL 의 next value for change_sequence 로 직접 갱신해야 함
+ */
+@Component
+@RequiredArgsConstructor
+public class ChangeTracker implements PreInsertEventListener, PreUpdateEventListener, PostDeleteEventListener {
+    private static final String INSERT_TOMBSTONE =
+            "insert into change_tombstone (change_seq, entity_type, entity_id) values (?, ?, ?)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ChangeSequence changeSequence;
+
+    @PostConstruct
+    public void register() {
+        HibernateEventListeners.append(entityManagerFactory, EventType.PRE_INSERT, this);
+        HibernateEventListeners.append(entityManagerFactory, EventType.PRE_UPDATE, this);
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public boolean onPreInsert(PreInsertEvent event) {
+        stamp(event.getEntity(), event.getState(), event.getPersister());
+        return false;
+    }
+
+    @Override
+    public boolean onPreUpdate(PreUpdateEvent event) {
+        stamp(event.getEntity(), event.getState(), event.getPersister());
+        return false;
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String entityType = entityType(event.getEntity());
+        if (entityType == null) {
+            return;
+        }
+        long changeSeq = changeSequence.next();
+        event.getSession().doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_TOMBSTONE)) {
+                insert.setLong(1, changeSeq);
+                insert.setString(2, entityType);
+                insert.setLong(3, (Long) event.getId());
+                insert.executeUpdate();
+            }
+        });
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    // 엔티티와 insert/update 에 쓰일 상태 배열을 함께 갱신
+    private void stamp(Object entity, Object[] state, EntityPersister persister) {
+        long changeSeq;
+        if (entity instanceof Member) {
+            changeSeq = changeSequence.next();
+            ((Member) entity).setChangeSeq(changeSeq);
+        } else if (entity instanceof Team) {
+            changeSeq = changeSequence.next();
+            ((Team) entity).setChangeSeq(changeSeq);
+        } else {
+            return;
+        }
+        state[HibernateEventListeners.propertyIndex(persister.getPropertyNames(), "changeSeq")] = changeSeq;
+    }
+
+    static String entityType(Object entity) {
+        if (entity instanceof Member) {
+            return "member";
+        }
+        if (entity instanceof Team) {
+            return "team";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,28 @@
+package study.querydsl.codec;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class CodecConfig implements WebMvcConfigurer {
+
+    /*
+     * JSON 컨버터 바로 뒤에 등록
+     * - 앞에 두면 Accept 가 와일드카드인 요청에도 바이너리로 응답하게 됨
+     * - 기본 Smile/CBOR 컨버터보다는 앞에 있어야 PageImpl 기본 직렬화 대신 사용됨
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        int index = 0;
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                index = i + 1;
+            }
+        }
+        converters.add(index, new MemberPageHttpMessageConverter());
+    }
+}
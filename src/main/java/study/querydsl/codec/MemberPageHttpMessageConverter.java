@@ -0,0 +1,100 @@
+package study.querydsl.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/*
+ * Page<MemberTeamDto>, List<MemberTeamDto> 응답의 바이너리 인코딩 (서비스 간 호출용, 쓰기 전용)
+ * - application/x-jackson-smile, application/cbor: 행 단위 (MemberPageWriter.writeRows)
+ * - application/vnd.member.columnar+cbor, +smile: 열 단위, 팀은 페이지마다 사전으로 한 번만
+ * JSON 은 기존처럼 Jackson 기본 직렬화
+ */
+public class MemberPageHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    public static final MediaType CBOR = MediaType.APPLICATION_CBOR;
+    public static final MediaType COLUMNAR_CBOR = new MediaType("application", "vnd.member.columnar+cbor");
+    public static final MediaType COLUMNAR_SMILE = new MediaType("application", "vnd.member.columnar+smile");
+
+    private final JsonFactory smileFactory = new SmileFactory();
+    private final JsonFactory cborFactory = new CBORFactory();
+
+    public MemberPageHttpMessageConverter() {
+        super(SMILE, CBOR, COLUMNAR_CBOR, COLUMNAR_SMILE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Page.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    // 원소 타입을 알 수 없으면 쓰지 않음
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (type == null || !supports(clazz) || !canWrite(mediaType)) {
+            return false;
+        }
+        ResolvableType resolved = ResolvableType.forType(type);
+        ResolvableType container = Page.class.isAssignableFrom(clazz) ? resolved.as(Page.class) : resolved.as(List.class);
+        return container.getGeneric(0).resolve() == MemberTeamDto.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        boolean columnar = COLUMNAR_CBOR.isCompatibleWith(contentType) || COLUMNAR_SMILE.isCompatibleWith(contentType);
+        boolean smile = SMILE.isCompatibleWith(contentType) || COLUMNAR_SMILE.isCompatibleWith(contentType);
+
+        Page<MemberTeamDto> page = object instanceof Page ? (Page<MemberTeamDto>) object : null;
+        List<MemberTeamDto> content = page != null ? page.getContent() : (List<MemberTeamDto>) object;
+
+        JsonFactory factory = smile ? smileFactory : cborFactory;
+        try (JsonGenerator generator = factory.createGenerator(StreamUtils.nonClosing(outputMessage.getBody()))) {
+            if (columnar) {
+                MemberPageWriter.writeColumns(generator, page, content);
+            } else {
+                MemberPageWriter.writeRows(generator, page, content);
+            }
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("write-only converter", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("write-only converter", inputMessage);
+    }
+}
@@ -0,0 +1,150 @@
+package study.querydsl.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.data.domain.Page;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * MemberTeamDto 목록/페이지를 JsonGenerator 로 바로 기록 (트리나 중간 객체 없음)
+ * PageImpl 기본 직렬화(pageable, sort, first, last ...) 대신 필요한 값만 남김
+ *
+ * rows:    {"number":0,"size":20,"totalElements":100,"content":[{"memberId":1,"username":"member1",...}]}
+ * columns: {"number":0,"size":20,"totalElements":100,"count":2,
+ *           "memberId":[1,2],"username":["member1","member2"],"age":[10,20],
+ *           "teams":{"id":[1],"name":["teamA"]},"team":[0,0]}
+ *           team 은 teams 사전의 인덱스, 팀이 없으면 -1
+ * 목록(List)이면 number/size/totalElements 를 생략
+ */
+final class MemberPageWriter {
+
+    private MemberPageWriter() {
+    }
+
+    static void writeRows(JsonGenerator generator, Page<MemberTeamDto> page, List<MemberTeamDto> content)
+            throws IOException {
+        generator.writeStartObject();
+        writePageFields(generator, page);
+        generator.writeFieldName("content");
+        generator.writeStartArray(content, content.size());
+        for (MemberTeamDto dto : content) {
+            generator.writeStartObject();
+            writeLongField(generator, "memberId", dto.getMemberId());
+            writeStringField(generator, "username", dto.getUsername());
+            generator.writeNumberField("age", dto.getAge());
+            writeLongField(generator, "teamId", dto.getTeamId());
+            writeStringField(generator, "teamName", dto.getTeamName());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    static void writeColumns(JsonGenerator generator, Page<MemberTeamDto> page, List<MemberTeamDto> content)
+            throws IOException {
+        int count = content.size();
+        generator.writeStartObject();
+        writePageFields(generator, page);
+        generator.writeNumberField("count", count);
+
+        generator.writeFieldName("memberId");
+        generator.writeStartArray(content, count);
+        for (MemberTeamDto dto : content) {
+            writeLong(generator, dto.getMemberId());
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName("username");
+        generator.writeStartArray(content, count);
+        for (MemberTeamDto dto : content) {
+            writeString(generator, dto.getUsername());
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName("age");
+        generator.writeStartArray(content, count);
+        for (MemberTeamDto dto : content) {
+            generator.writeNumber(dto.getAge());
+        }
+        generator.writeEndArray();
+
+        // 팀은 페이지마다 한 번만 기록하고 행에는 인덱스만
+        Map<Long, Integer> teamIndex = new HashMap<>();
+        List<MemberTeamDto> teams = new ArrayList<>();
+        int[] team = new int[count];
+        for (int i = 0; i < count; i++) {
+            MemberTeamDto dto = content.get(i);
+            if (dto.getTeamId() == null) {
+                team[i] = -1;
+                continue;
+            }
+            Integer index = teamIndex.get(dto.getTeamId());
+            if (index == null) {
+                index = teams.size();
+                teamIndex.put(dto.getTeamId(), index);
+                teams.add(dto);
+            }
+            team[i] = index;
+        }
+
+        generator.writeFieldName("teams");
+        generator.writeStartObject();
+        generator.writeFieldName("id");
+        generator.writeStartArray(teams, teams.size());
+        for (MemberTeamDto dto : teams) {
+            generator.writeNumber(dto.getTeamId());
+        }
+        generator.writeEndArray();
+        generator.writeFieldName("name");
+        generator.writeStartArray(teams, teams.size());
+        for (MemberTeamDto dto : teams) {
+            writeString(generator, dto.getTeamName());
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+
+        generator.writeFieldName("team");
+        generator.writeArray(team, 0, count);
+        generator.writeEndObject();
+    }
+
+    private static void writePageFields(JsonGenerator generator, Page<MemberTeamDto> page) throws IOException {
+        if (page == null) {
+            return;
+        }
+        generator.writeNumberField("number", page.getNumber());
+        generator.writeNumberField("size", page.getSize());
+        generator.writeNumberField("totalElements", page.getTotalElements());
+    }
+
+    private static void writeLongField(JsonGenerator generator, String name, Long value) throws IOException {
+        generator.writeFieldName(name);
+        writeLong(generator, value);
+    }
+
+    private static void writeLong(JsonGenerator generator, Long value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static void writeStringField(JsonGenerator generator, String name, String value) throws IOException {
+        generator.writeFieldName(name);
+        writeString(generator, value);
+    }
+
+    private static void writeString(JsonGenerator generator, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
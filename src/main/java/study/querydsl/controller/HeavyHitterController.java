@@ -0,0 +1,21 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.heavyhitter.HeavyHitter;
+import study.querydsl.heavyhitter.SearchHeavyHitters;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+@RestController
+public class HeavyHitterController {
+    private final SearchHeavyHitters searchHeavyHitters;
+
+    @GetMapping("/v1/members/heavy-hitters")
+    public List<HeavyHitter> heavyHitters(@RequestParam(defaultValue = "20") int limit) {
+        return searchHeavyHitters.top(Math.max(1, Math.min(limit, 100)));
+    }
+}
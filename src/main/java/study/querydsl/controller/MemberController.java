@@ -1,31 +1,103 @@
 package study.querydsl.controller;
 
+import com.querydsl.core.types.Predicate;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.MemberBatchSearchRequest;
+import study.querydsl.dto.MemberFields;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.heavyhitter.SearchHeavyHitters;
+import study.querydsl.heavyhitter.SearchKey;
+import study.querydsl.prefetch.NextPagePrefetcher;
 import study.querydsl.repository.MemberJpaRepository;
 import study.querydsl.repository.MemberRepository;
 
 import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
 public class MemberController {
     private final MemberJpaRepository memberJpaRepository;
     private final MemberRepository memberRepository;
+    private final SearchHeavyHitters searchHeavyHitters;
+    private final NextPagePrefetcher nextPagePrefetcher;
+
+    @Value("${member.batch.max-size:50}")
+    private int maxBatchSize;
 
     @GetMapping("/v1/members")
     public List<MemberTeamDto> searchMemberV1(@ModelAttribute MemberSearchCondition condition) {
+        searchHeavyHitters.record(SearchKey.v1(condition));
         return memberJpaRepository.searchByBuilder(condition);
     }
 
+    // ?fields=memberId,username 이면 요청한 필드만 조회/응답
+    @GetMapping(value = "/v1/members", params = "fields")
+    public List<Map<String, Object>> searchMemberFieldsV1(@ModelAttribute MemberSearchCondition condition,
+                                                          @RequestParam String fields) {
+        searchHeavyHitters.record(SearchKey.v1(condition));
+        return memberRepository.searchFields(condition, parseFields(fields));
+    }
+
+    @PostMapping("/v1/members/batch")
+    public List<List<MemberTeamDto>> searchMemberBatchV1(@RequestBody MemberBatchSearchRequest request) {
+        if (request.getConditions() == null || request.getConditions().contains(null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "conditions must not contain null");
+        }
+        if (request.getConditions().size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "too many conditions: " + request.getConditions().size() + " > " + maxBatchSize);
+        }
+        return memberJpaRepository.searchBatchByBuilder(request.getConditions());
+    }
+
     @GetMapping("/v2/members")
     public Page<MemberTeamDto> searchMemberV2(@ModelAttribute MemberSearchCondition condition, Pageable pageable) {
-        return memberRepository.searchPageSimple(condition, pageable);
+        searchHeavyHitters.record(SearchKey.v2(condition, pageable));
+        return nextPagePrefetcher.searchPageSimple(condition, pageable);
+    }
+
+    @GetMapping(value = "/v2/members", params = "fields")
+    public Page<Map<String, Object>> searchMemberFieldsV2(@ModelAttribute MemberSearchCondition condition,
+                                                          Pageable pageable, @RequestParam String fields) {
+        searchHeavyHitters.record(SearchKey.v2(condition, pageable));
+        return memberRepository.searchPageFields(condition, pageable, parseFields(fields));
+    }
+
+    // ?username=member1&team.name=teamA&sort=age,desc 처럼 엔티티 경로로 바로 조회
+    @GetMapping("/v3/members")
+    public Page<MemberTeamDto> searchMemberV3(@QuerydslPredicate(root = Member.class) Predicate predicate,
+                                              Pageable pageable) {
+        return memberRepository.searchByPredicate(predicate, pageable);
+    }
+
+    // ?q=kim 처럼 username, 팀 이름을 단어 단위로 검색 (전문 검색 인덱스)
+    @GetMapping("/v1/members/search")
+    public Page<MemberTeamDto> searchMemberText(@RequestParam String q, Pageable pageable) {
+        return memberRepository.searchText(q, pageable);
+    }
+
+    // fields= 처럼 비어 있으면 전체 필드
+    private MemberFields parseFields(String fields) {
+        try {
+            MemberFields parsed = MemberFields.parse(fields);
+            return parsed != null ? parsed : MemberFields.all();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
     }
 }
@@ -0,0 +1,22 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.subscription.MemberSubscriptionRegistry;
+
+@RequiredArgsConstructor
+@RestController
+public class MemberSubscriptionController {
+    private final MemberSubscriptionRegistry memberSubscriptionRegistry;
+
+    // /v1/members 와 같은 조건, 이후 커밋되는 변경만 전달 (초기 결과는 /v1/members 로 조회)
+    @GetMapping(value = "/v1/members/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@ModelAttribute MemberSearchCondition condition) {
+        return memberSubscriptionRegistry.subscribe(condition);
+    }
+}
@@ -0,0 +1,11 @@
+package study.querydsl.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class MemberBatchSearchRequest {
+    private List<MemberSearchCondition> conditions = new ArrayList<>();
+}
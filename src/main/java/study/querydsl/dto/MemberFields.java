@@ -0,0 +1,94 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Expression;
+import lombok.EqualsAndHashCode;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+/*
+ * fields=memberId,username 처럼 요청한 MemberTeamDto 필드만 조회
+ * - 필드 순서와 관계없이 항상 enum 순서로 select 하므로 쿼리 모양은 최대 31 가지 (쿼리 계획 캐시 재사용)
+ * - teamId 는 FK 로 읽으므로 teamName 을 요청할 때만 team 을 조인
+ */
+@EqualsAndHashCode
+public class MemberFields {
+    public enum Field {
+        MEMBER_ID("memberId", member.id),
+        USERNAME("username", member.username),
+        AGE("age", member.age),
+        TEAM_ID("teamId", member.team.id),
+        TEAM_NAME("teamName", team.name);
+
+        private final String name;
+        private final Expression<?> expression;
+
+        Field(String name, Expression<?> expression) {
+            this.name = name;
+            this.expression = expression;
+        }
+
+        static Field of(String name) {
+            for (Field field : values()) {
+                if (field.name.equals(name)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("unknown field: " + name);
+        }
+    }
+
+    private final EnumSet<Field> fields;
+
+    private MemberFields(EnumSet<Field> fields) {
+        this.fields = fields;
+    }
+
+    // 비어 있으면 null (전체 필드)
+    public static MemberFields parse(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return null;
+        }
+        EnumSet<Field> parsed = EnumSet.noneOf(Field.class);
+        for (String name : StringUtils.commaDelimitedListToStringArray(fields)) {
+            if (StringUtils.hasText(name)) {
+                parsed.add(Field.of(name.trim()));
+            }
+        }
+        return parsed.isEmpty() ? null : new MemberFields(parsed);
+    }
+
+    public static MemberFields all() {
+        return new MemberFields(EnumSet.allOf(Field.class));
+    }
+
+    public boolean needsTeamJoin() {
+        return fields.contains(Field.TEAM_NAME);
+    }
+
+    public Expression<?>[] expressions() {
+        List<Expression<?>> expressions = new ArrayList<>(fields.size());
+        for (Field field : fields) {
+            expressions.add(field.expression);
+        }
+        return expressions.toArray(new Expression<?>[0]);
+    }
+
+    // 요청한 필드만 담은 응답 (없는 값은 null 로 유지)
+    public Map<String, Object> toMap(Tuple tuple) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Field field : fields) {
+            map.put(field.name, tuple.get(field.expression));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
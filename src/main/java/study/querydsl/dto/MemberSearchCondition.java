@@ -2,8 +2,10 @@ package study.querydsl.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 public class MemberSearchCondition {
     // 회원명, 팀명, 나이
     private String username;
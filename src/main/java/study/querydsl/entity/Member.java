@@ -1,10 +1,12 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
 
 import javax.persistence.*;
 
 @Entity
+@Table(indexes = @Index(name = "idx_member_change_seq", columnList = "changeSeq"))
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -18,6 +20,8 @@ public class Member {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
+    // 변경 순번, insert/update 때마다 change_sequence 에서 새로 받음 (ChangeTracker)
+    private long changeSeq;
 
     public Member(String username) {
         this(username, 0);
@@ -35,8 +39,15 @@ public class Member {
         }
     }
 
+    // 팀 회원 수와 관계없이 O(1), Team.addMember 참고
     public void changeTeam(Team team) {
+        // 초기화되지 않은 프록시면 컬렉션도 로딩 전이므로 건드릴 필요 없음
+        if (this.team != null && Hibernate.isInitialized(this.team)) {
+            this.team.removeMember(this);
+        }
         this.team = team;
-        team.getMembers().add(this);
+        if (team != null) {
+            team.addMember(this);
+        }
     }
 }
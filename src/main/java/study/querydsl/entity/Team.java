@@ -1,12 +1,16 @@
 package study.querydsl.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
 
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_team_change_seq", columnList = "changeSeq"))
 @Getter @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
@@ -16,11 +20,34 @@ public class Team {
     private Long id;
 
     private String name;
+    // 변경 순번 (Member.changeSeq 참고)
+    private long changeSeq;
 
+    // size(), contains() 는 컬렉션을 로딩하지 않고 쿼리로 처리
     @OneToMany(mappedBy = "team")
+    @LazyCollection(LazyCollectionOption.EXTRA)
     private List<Member> members = new ArrayList<>();
 
     public Team(String name) {
         this.name = name;
     }
+
+    /*
+     * 연관관계의 주인은 Member.team 이므로 members 는 메모리상의 일관성만 맞추면 됨
+     * 회원 수만큼 컬렉션을 로딩하지 않도록 이미 로딩된 컬렉션에만 반영하고, 로딩 전이면 추가/제거 모두 건너뜀
+     * 로딩 전 컬렉션은 나중에 로딩될 때 DB 에서 읽으므로 flush 이후라면 맞는 값이 됨
+     * (추가만 Hibernate 큐에 쌓으면 제거는 쌓을 수 없어서, 추가 후 flush 전에 팀을 옮기면 두 팀에 모두 남음)
+     * flush 전에 로딩하면 이번 변경이 빠져 있으므로 필요하면 flush 후에 읽어야 함
+     */
+    void addMember(Member member) {
+        if (Hibernate.isInitialized(members)) {
+            members.add(member);
+        }
+    }
+
+    void removeMember(Member member) {
+        if (Hibernate.isInitialized(members)) {
+            members.remove(member);
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package study.querydsl.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+ * direct ByteBuffer 에 CSV 를 직접 인코딩하고, 가득 차면 FileChannel 의 지정 위치에 기록
+ * 필드마다 String.getBytes 로 byte[] 를 만들지 않도록 UTF-8 인코딩을 직접 수행
+ * 버퍼는 재사용되므로 한 스레드에서만 사용해야 함
+ */
+class CsvChannelWriter {
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[20];
+    private FileChannel channel;
+    private long position;
+    private long written;
+
+    CsvChannelWriter(int bufferSize) {
+        // 멀티바이트 문자 하나(최대 4바이트)는 항상 들어갈 수 있어야 함
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 16));
+    }
+
+    void open(FileChannel channel, long position) {
+        this.channel = channel;
+        this.position = position;
+        this.written = 0;
+        this.buffer.clear();
+    }
+
+    long close() throws IOException {
+        flush();
+        channel = null;
+        return written;
+    }
+
+    void writeRaw(String ascii) throws IOException {
+        for (int i = 0; i < ascii.length(); i++) {
+            ensure(1);
+            buffer.put((byte) ascii.charAt(i));
+        }
+    }
+
+    void writeLong(Long value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        long v = value;
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + Math.abs(v % 10));
+            v /= 10;
+        } while (v != 0);
+        if (value < 0) {
+            digits[--i] = '-';
+        }
+        put(digits, i, digits.length - i);
+    }
+
+    void writeString(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = needsQuote(value);
+        if (quote) {
+            ensure(1);
+            buffer.put((byte) '"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            ensure(4);
+            if (c == '"') {
+                buffer.put((byte) '"').put((byte) '"');
+            } else if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)))
+                        .put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                        .put((byte) (0x80 | ((codePoint >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)))
+                        .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                        .put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        if (quote) {
+            ensure(1);
+            buffer.put((byte) '"');
+        }
+    }
+
+    void separator() throws IOException {
+        ensure(1);
+        buffer.put((byte) ',');
+    }
+
+    void endRow() throws IOException {
+        ensure(1);
+        buffer.put((byte) '\n');
+    }
+
+    private boolean needsQuote(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void put(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(1);
+            int n = Math.min(length, buffer.remaining());
+            buffer.put(bytes, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            int n = channel.write(buffer, position);
+            position += n;
+            written += n;
+        }
+        buffer.clear();
+    }
+}
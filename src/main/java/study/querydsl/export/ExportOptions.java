@@ -0,0 +1,36 @@
+package study.querydsl.export;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ExportOptions {
+    // 파티션마다 파일을 하나씩 만들므로 상한을 둠
+    static final int MAX_PARTITIONS = 256;
+    static final int MAX_THREADS = 32;
+
+    @Builder.Default
+    private int partitions = 8;
+    @Builder.Default
+    private int threads = 4;
+    // true 면 파티션별 파일을 하나로 합침
+    @Builder.Default
+    private boolean singleFile = true;
+    @Builder.Default
+    private int bufferSize = 256 * 1024;
+    @Builder.Default
+    private int fetchSize = 1000;
+
+    public void validate() {
+        if (partitions < 1 || partitions > MAX_PARTITIONS) {
+            throw new IllegalArgumentException("partitions must be between 1 and " + MAX_PARTITIONS + ": " + partitions);
+        }
+        if (threads < 1 || threads > MAX_THREADS) {
+            throw new IllegalArgumentException("threads must be between 1 and " + MAX_THREADS + ": " + threads);
+        }
+        if (bufferSize < 1 || fetchSize < 1) {
+            throw new IllegalArgumentException("bufferSize and fetchSize must be positive: " + bufferSize + ", " + fetchSize);
+        }
+    }
+}
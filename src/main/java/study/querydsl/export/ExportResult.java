@@ -0,0 +1,15 @@
+package study.querydsl.export;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ExportResult {
+    private final List<String> files;
+    private final long rows;
+    private final long bytes;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+    private final double megabytesPerSecond;
+}
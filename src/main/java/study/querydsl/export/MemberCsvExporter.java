@@ -0,0 +1,212 @@
+package study.querydsl.export;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.stereotype.Component;
+import study.querydsl.batch.IdRange;
+import study.querydsl.batch.MemberIdPartitioner;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/*
+ * member/team 조인 결과를 CSV 로 내보내기
+ * - id 구간별로 병렬 조회 (StatelessSession + forward-only scroll)
+ * - 워커마다 재사용하는 direct ByteBuffer 로 포맷팅 후 FileChannel 위치 지정 쓰기
+ * - singleFile 이면 파티션 파일을 크기 누적합 위치에 병렬로 transferFrom 하여 하나로 합침
+ */
+@Slf4j
+@Component
+public class MemberCsvExporter {
+    static final String HEADER = "member_id,username,age,team_id,team_name\n";
+    private static final String EXPORT_QUERY = "select m.id, m.username, m.age, t.id, t.name"
+            + " from Member m left join m.team t where m.id between :from and :to order by m.id";
+
+    private final SessionFactory sessionFactory;
+    private final MemberIdPartitioner partitioner;
+    private final Counter rowCounter;
+    private final Counter byteCounter;
+    private final Timer exportTimer;
+
+    public MemberCsvExporter(EntityManagerFactory entityManagerFactory,
+                             MemberIdPartitioner partitioner,
+                             MeterRegistry meterRegistry) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.partitioner = partitioner;
+        this.rowCounter = meterRegistry.counter("member.export.rows");
+        this.byteCounter = meterRegistry.counter("member.export.bytes");
+        this.exportTimer = meterRegistry.timer("member.export");
+    }
+
+    public ExportResult export(Path target, ExportOptions options) throws IOException {
+        options.validate();
+        long start = System.nanoTime();
+        List<IdRange> ranges = partitioner.partition(options.getPartitions());
+        List<Path> parts = new ArrayList<>();
+        for (int i = 0; i < ranges.size(); i++) {
+            parts.add(partPath(target, i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(options.getThreads());
+        ThreadLocal<CsvChannelWriter> writers = ThreadLocal.withInitial(() -> new CsvChannelWriter(options.getBufferSize()));
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < ranges.size(); i++) {
+                IdRange range = ranges.get(i);
+                Path part = parts.get(i);
+                // 하나로 합칠 때는 헤더를 최종 파일에만 기록
+                boolean header = !options.isSingleFile();
+                futures.add(executor.submit(() -> exportPartition(range, part, header, writers.get(), options)));
+            }
+
+            long rows = 0;
+            List<Long> partSizes = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                long[] result = future.get();
+                rows += result[0];
+                partSizes.add(result[1]);
+            }
+
+            List<Path> files = parts;
+            if (options.isSingleFile()) {
+                merge(target, parts, partSizes, executor);
+                files = List.of(target);
+            }
+
+            long bytes = 0;
+            for (Path file : files) {
+                bytes += Files.size(file);
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            exportTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            rowCounter.increment(rows);
+            byteCounter.increment(bytes);
+
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            ExportResult result = new ExportResult(
+                    files.stream().map(Path::toString).collect(Collectors.toList()),
+                    rows,
+                    bytes,
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    seconds > 0 ? rows / seconds : 0,
+                    seconds > 0 ? bytes / seconds / (1024 * 1024) : 0);
+            log.info("member export finished: {}", result);
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("member export interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException("member export failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // [rows, bytes]
+    private long[] exportPartition(IdRange range, Path part, boolean header,
+                                   CsvChannelWriter writer, ExportOptions options) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try (FileChannel channel = FileChannel.open(part,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writer.open(channel, 0);
+            if (header) {
+                writer.writeRaw(HEADER);
+            }
+
+            long rows = 0;
+            ScrollableResults results = session.createQuery(EXPORT_QUERY)
+                    .setParameter("from", range.getFrom())
+                    .setParameter("to", range.getTo())
+                    .setFetchSize(options.getFetchSize())
+                    .scroll(ScrollMode.FORWARD_ONLY);
+            try {
+                while (results.next()) {
+                    Object[] row = results.get();
+                    writer.writeLong((Long) row[0]);
+                    writer.separator();
+                    writer.writeString((String) row[1]);
+                    writer.separator();
+                    writer.writeLong(((Number) row[2]).longValue());
+                    writer.separator();
+                    writer.writeLong((Long) row[3]);
+                    writer.separator();
+                    writer.writeString((String) row[4]);
+                    writer.endRow();
+                    rows++;
+                }
+            } finally {
+                results.close();
+            }
+            return new long[]{rows, writer.close()};
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            session.close();
+        }
+    }
+
+    private void merge(Path target, List<Path> parts, List<Long> partSizes, ExecutorService executor)
+            throws IOException, InterruptedException, ExecutionException {
+        try (FileChannel out = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CsvChannelWriter headerWriter = new CsvChannelWriter(HEADER.length());
+            headerWriter.open(out, 0);
+            headerWriter.writeRaw(HEADER);
+            long offset = headerWriter.close();
+
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < parts.size(); i++) {
+                Path part = parts.get(i);
+                long position = offset;
+                long size = partSizes.get(i);
+                futures.add(executor.submit(() -> {
+                    transfer(part, out, position, size);
+                    return null;
+                }));
+                offset += size;
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        for (Path part : parts) {
+            Files.deleteIfExists(part);
+        }
+    }
+
+    private void transfer(Path part, FileChannel out, long position, long size) throws IOException {
+        try (FileChannel in = FileChannel.open(part, StandardOpenOption.READ)) {
+            long transferred = 0;
+            while (transferred < size) {
+                transferred += out.transferFrom(in, position + transferred, size - transferred);
+            }
+        }
+    }
+
+    private Path partPath(Path target, int partition) {
+        String name = target.getFileName().toString();
+        return target.resolveSibling(String.format("%s.part-%05d", name, partition));
+    }
+}
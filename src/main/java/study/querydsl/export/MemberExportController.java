@@ -0,0 +1,45 @@
+package study.querydsl.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+@RestController
+public class MemberExportController {
+    private final MemberCsvExporter exporter;
+    private final Path directory;
+
+    public MemberExportController(MemberCsvExporter exporter,
+                                  @Value("${member.export.directory:export}") String directory) {
+        this.exporter = exporter;
+        this.directory = Paths.get(directory);
+    }
+
+    // 출력 위치는 설정된 디렉터리로 고정 (요청으로 임의 경로에 쓰지 않도록)
+    @PostMapping("/export/members")
+    public ExportResult export(@RequestParam(defaultValue = "8") int partitions,
+                               @RequestParam(defaultValue = "4") int threads,
+                               @RequestParam(defaultValue = "true") boolean singleFile) throws IOException {
+        ExportOptions options = ExportOptions.builder()
+                .partitions(partitions)
+                .threads(threads)
+                .singleFile(singleFile)
+                .build();
+        try {
+            options.validate();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Files.createDirectories(directory);
+        Path target = directory.resolve("members-" + System.currentTimeMillis() + ".csv");
+        return exporter.export(target, options);
+    }
+}
@@ -0,0 +1,65 @@
+package study.querydsl.heavyhitter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Count-min sketch
+ * depth 개의 행마다 서로 다른 해시로 칸 하나씩 증가시키고, 추정치는 그 칸들의 최솟값
+ * 추정치는 실제 횟수 이상 (충돌로 과대 추정만 발생)
+ * 모든 칸이 AtomicLongArray 라 add/estimate 는 락 없이 동시에 호출 가능
+ */
+class CountMinSketch {
+    private static final long[] SEEDS = {
+            0x9e3779b97f4a7c15L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0xd6e8feb86659fd93L,
+            0xff51afd7ed558ccdL, 0xc4ceb9fe1a85ec53L, 0x94d049bb133111ebL, 0xbf58476d1ce4e5b9L
+    };
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray table;
+
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth must be in [1, " + SEEDS.length + "]: " + depth);
+        }
+        if (width < 1 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a power of two: " + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.table = new AtomicLongArray(depth * width);
+    }
+
+    // 증가 후 추정치
+    long add(int hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table.incrementAndGet(cell(row, hash)));
+        }
+        return min;
+    }
+
+    long estimate(int hash) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, table.get(cell(row, hash)));
+        }
+        return min;
+    }
+
+    // 오래된 빈도가 계속 남지 않도록 전체를 절반으로 줄임
+    void halve() {
+        for (int i = 0; i < table.length(); i++) {
+            long current;
+            do {
+                current = table.get(i);
+            } while (current != 0 && !table.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    private int cell(int row, int hash) {
+        long h = (hash & 0xffffffffL) * SEEDS[row];
+        h ^= h >>> 29;
+        return row * width + (int) (h & (width - 1));
+    }
+}
@@ -0,0 +1,21 @@
+package study.querydsl.heavyhitter;
+
+import lombok.Data;
+
+@Data
+public class HeavyHitter {
+    private final SearchKey.Endpoint endpoint;
+    private final String username;
+    private final String teamName;
+    private final Integer ageGoe;
+    private final Integer ageLoe;
+    private final String sort;
+    private final int pageSize;
+    private final long estimatedCount;
+
+    static HeavyHitter of(SearchKey key, long estimatedCount) {
+        return new HeavyHitter(key.getEndpoint(), key.getUsername(), key.getTeamName(), key.getAgeGoe(),
+                key.getAgeLoe(), key.getSort().isSorted() ? key.getSort().toString() : null, key.getPageSize(),
+                estimatedCount);
+    }
+}
@@ -0,0 +1,52 @@
+package study.querydsl.heavyhitter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import study.querydsl.warmup.MemberSearchWarmup;
+
+/*
+ * 자주 들어오는 검색 조건을 주기적으로 미리 실행
+ * 쿼리 플랜 캐시와 DB 버퍼 캐시를 실제 트래픽 기준으로 데움
+ * 기본은 꺼져 있음 (member.heavy-hitters.warm.enabled)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "member.heavy-hitters.warm", name = "enabled")
+public class HeavyHitterWarmup {
+    private final SearchHeavyHitters heavyHitters;
+    private final ObjectProvider<MemberSearchWarmup> warmup;
+    private final int top;
+
+    public HeavyHitterWarmup(SearchHeavyHitters heavyHitters,
+                             ObjectProvider<MemberSearchWarmup> warmup,
+                             @Value("${member.heavy-hitters.warm.top:20}") int top) {
+        this.heavyHitters = heavyHitters;
+        this.warmup = warmup;
+        this.top = top;
+    }
+
+    @Scheduled(initialDelayString = "${member.heavy-hitters.warm.interval:PT1M}",
+            fixedDelayString = "${member.heavy-hitters.warm.interval:PT1M}")
+    public void warm() {
+        // 시작 워밍업을 끈 경우(member.warmup.enabled=false) 빈이 없음
+        MemberSearchWarmup searchWarmup = warmup.getIfAvailable();
+        if (searchWarmup == null) {
+            return;
+        }
+        for (SearchKey key : heavyHitters.topKeys(top)) {
+            try {
+                if (key.getEndpoint() == SearchKey.Endpoint.V1) {
+                    searchWarmup.warm(key.toCondition());
+                } else {
+                    searchWarmup.warm(key.toCondition(), key.toPageable());
+                }
+            } catch (RuntimeException e) {
+                log.warn("heavy hitter warm-up failed: {}", key, e);
+            }
+        }
+    }
+}
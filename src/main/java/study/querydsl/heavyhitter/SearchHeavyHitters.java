@@ -0,0 +1,125 @@
+package study.querydsl.heavyhitter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * 검색 조건 top-K 추적
+ * - 빈도는 count-min sketch 로 추정 (메모리 고정, 락 없음)
+ * - 추정치가 현재 top-K 의 최솟값(threshold) 이상인 조건만 후보 맵에 올림
+ * - 후보가 capacity 의 두 배를 넘으면 한 스레드만 heap 으로 상위 capacity 개를 남기고 정리
+ *   (정리 중에도 다른 스레드의 기록은 막히지 않음)
+ * - 주기적으로 전체 빈도를 절반으로 줄여 최근 트래픽 위주로 유지
+ */
+@Component
+public class SearchHeavyHitters {
+    private static final Comparator<Map.Entry<SearchKey, Long>> BY_COUNT = Map.Entry.comparingByValue();
+
+    private final boolean enabled;
+    private final int capacity;
+    private final CountMinSketch sketch;
+    private final Map<SearchKey, Long> candidates = new ConcurrentHashMap<>();
+    private final AtomicBoolean pruning = new AtomicBoolean();
+    private volatile long threshold;
+
+    public SearchHeavyHitters(MeterRegistry meterRegistry,
+                              @Value("${member.heavy-hitters.enabled:true}") boolean enabled,
+                              @Value("${member.heavy-hitters.depth:4}") int depth,
+                              @Value("${member.heavy-hitters.width:2048}") int width,
+                              @Value("${member.heavy-hitters.capacity:256}") int capacity) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(depth, width);
+
+        Gauge.builder("member.heavy-hitters.candidates", candidates, Map::size)
+                .register(meterRegistry);
+    }
+
+    public void record(SearchKey key) {
+        if (!enabled) {
+            return;
+        }
+        long estimate = sketch.add(spread(key.hashCode()));
+        if (estimate < threshold) {
+            return;
+        }
+        candidates.put(key, estimate);
+        if (candidates.size() > capacity * 2) {
+            prune();
+        }
+    }
+
+    // 추정 빈도 내림차순 상위 k 개
+    public List<HeavyHitter> top(int k) {
+        List<HeavyHitter> result = new ArrayList<>();
+        for (Map.Entry<SearchKey, Long> entry : topEntries(k)) {
+            result.add(HeavyHitter.of(entry.getKey(), entry.getValue()));
+        }
+        return result;
+    }
+
+    public List<SearchKey> topKeys(int k) {
+        List<SearchKey> result = new ArrayList<>();
+        for (Map.Entry<SearchKey, Long> entry : topEntries(k)) {
+            result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    private List<Map.Entry<SearchKey, Long>> topEntries(int k) {
+        PriorityQueue<Map.Entry<SearchKey, Long>> heap = new PriorityQueue<>(BY_COUNT);
+        for (SearchKey key : candidates.keySet()) {
+            heap.add(Map.entry(key, sketch.estimate(spread(key.hashCode()))));
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<SearchKey, Long>> result = new ArrayList<>(heap);
+        result.sort(BY_COUNT.reversed());
+        return result;
+    }
+
+    @Scheduled(initialDelayString = "${member.heavy-hitters.decay-interval:PT5M}",
+            fixedDelayString = "${member.heavy-hitters.decay-interval:PT5M}")
+    public void decay() {
+        sketch.halve();
+        threshold >>>= 1;
+        candidates.replaceAll((key, count) -> count >>> 1);
+        candidates.values().removeIf(count -> count == 0);
+    }
+
+    private void prune() {
+        if (!pruning.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            PriorityQueue<Map.Entry<SearchKey, Long>> heap = new PriorityQueue<>(BY_COUNT);
+            for (Map.Entry<SearchKey, Long> entry : candidates.entrySet()) {
+                heap.add(Map.entry(entry.getKey(), entry.getValue()));
+                if (heap.size() > capacity) {
+                    candidates.remove(heap.poll().getKey());
+                }
+            }
+            if (!heap.isEmpty()) {
+                threshold = heap.peek().getValue();
+            }
+        } finally {
+            pruning.set(false);
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,60 @@
+package study.querydsl.heavyhitter;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+
+/*
+ * 집계 단위가 되는 정규화된 검색 조건
+ * 빈 문자열은 조건 없음(null)과 같게, 문자열은 앞뒤 공백 제거
+ * 페이지 번호는 버리고 정렬과 페이지 크기만 남김
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class SearchKey {
+    public enum Endpoint { V1, V2 }
+
+    private final Endpoint endpoint;
+    private final String username;
+    private final String teamName;
+    private final Integer ageGoe;
+    private final Integer ageLoe;
+    private final Sort sort;
+    private final int pageSize;
+
+    private SearchKey(Endpoint endpoint, MemberSearchCondition condition, Sort sort, int pageSize) {
+        this.endpoint = endpoint;
+        this.username = normalize(condition.getUsername());
+        this.teamName = normalize(condition.getTeamName());
+        this.ageGoe = condition.getAgeGoe();
+        this.ageLoe = condition.getAgeLoe();
+        this.sort = sort;
+        this.pageSize = pageSize;
+    }
+
+    public static SearchKey v1(MemberSearchCondition condition) {
+        return new SearchKey(Endpoint.V1, condition, Sort.unsorted(), 0);
+    }
+
+    public static SearchKey v2(MemberSearchCondition condition, Pageable pageable) {
+        return new SearchKey(Endpoint.V2, condition, pageable.getSort(), pageable.getPageSize());
+    }
+
+    public MemberSearchCondition toCondition() {
+        return new MemberSearchCondition(username, teamName, ageGoe, ageLoe);
+    }
+
+    public Pageable toPageable() {
+        return PageRequest.of(0, pageSize, sort);
+    }
+
+    private static String normalize(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+}
@@ -0,0 +1,135 @@
+package study.querydsl.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * AIMD(Additive Increase, Multiplicative Decrease) 동시성 제한
+ * - 지연시간이 임계값 이하로 성공하면 limit 을 1/limit 씩 증가
+ * - 임계값을 넘거나 실패하면 limit 을 backoffRatio 만큼 감소
+ * - limit 을 넘는 요청은 짧게 대기(queue)하거나 바로 거절
+ */
+public class AimdLimiter {
+    private final String name;
+    private final LimiterProperties.Group properties;
+    private final long latencyThresholdNanos;
+    private final long maxWaitNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+
+    private final Counter rejected;
+
+    public AimdLimiter(String name, LimiterProperties.Group properties, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.properties = properties;
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.limit = properties.getInitialLimit();
+
+        Gauge.builder("member.limiter.limit", this, AimdLimiter::getLimit)
+                .tag("group", name)
+                .register(meterRegistry);
+        Gauge.builder("member.limiter.inflight", this, AimdLimiter::getInFlight)
+                .tag("group", name)
+                .register(meterRegistry);
+        Gauge.builder("member.limiter.queue", this, AimdLimiter::getWaiting)
+                .tag("group", name)
+                .register(meterRegistry);
+        rejected = Counter.builder("member.limiter.rejected")
+                .tag("group", name)
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= properties.getMaxQueueSize() || maxWaitNanos <= 0) {
+                rejected.increment();
+                return false;
+            }
+
+            waiting++;
+            try {
+                long nanos = maxWaitNanos;
+                while (inFlight >= (int) limit) {
+                    if (nanos <= 0) {
+                        rejected.increment();
+                        return false;
+                    }
+                    nanos = released.awaitNanos(nanos);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void release(long latencyNanos, boolean success) {
+        lock.lock();
+        try {
+            // 포화 상태에서만 limit 을 늘려, 한가할 때 limit 이 무한정 커지는 것을 방지
+            boolean saturated = inFlight * 2 >= limit;
+            inFlight--;
+            if (!success || latencyNanos > latencyThresholdNanos) {
+                limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+            } else if (saturated) {
+                limit = Math.min(properties.getMaxLimit(), limit + 1.0 / limit);
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRetryAfterSeconds() {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(latencyThresholdNanos));
+    }
+}
@@ -0,0 +1,34 @@
+package study.querydsl.limiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(LimiterProperties.class)
+@ConditionalOnProperty(prefix = "member.limiter", name = "enabled", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    private final LimiterProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        addLimiter(registry, "interactive", properties.getInteractive());
+        addLimiter(registry, "bulk", properties.getBulk());
+    }
+
+    private void addLimiter(InterceptorRegistry registry, String name, LimiterProperties.Group group) {
+        // 경로가 없으면 모든 요청에 걸리므로 등록하지 않음
+        if (group.getPaths().isEmpty()) {
+            return;
+        }
+        AimdLimiter limiter = new AimdLimiter(name, group, meterRegistry);
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter))
+                .addPathPatterns(group.getPaths());
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "member.limiter")
+public class LimiterProperties {
+    private boolean enabled = true;
+    // 대화형 검색 (/v1, /v2)
+    private Group interactive = new Group();
+    // 배치, 분석 작업
+    private Group bulk = new Group();
+
+    @Getter
+    @Setter
+    public static class Group {
+        private List<String> paths = new ArrayList<>();
+        private int initialLimit = 20;
+        private int minLimit = 1;
+        private int maxLimit = 200;
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        private double backoffRatio = 0.9;
+        private int maxQueueSize = 0;
+        private Duration maxWait = Duration.ZERO;
+    }
+}
@@ -0,0 +1,85 @@
+package study.querydsl.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import study.querydsl.changes.ChangeSequence;
+import study.querydsl.repository.support.FullTextIndex;
+import study.querydsl.repository.support.TeamNameDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 부하 테스트용 데이터 적재 (loadtest 프로파일, 인메모리 H2)
+ * 워밍업보다 먼저 실행되어야 하므로 가장 높은 우선순위로 실행
+ */
+@Slf4j
+@Profile("loadtest")
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MemberDataSeeder implements ApplicationRunner {
+    private static final int BATCH_SIZE = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TeamNameDictionary teamNameDictionary;
+    private final ChangeSequence changeSequence;
+    private final FullTextIndex fullTextIndex;
+    private final int teams;
+    private final int members;
+
+    public MemberDataSeeder(JdbcTemplate jdbcTemplate,
+                            TeamNameDictionary teamNameDictionary,
+                            ChangeSequence changeSequence,
+                            FullTextIndex fullTextIndex,
+                            @Value("${member.seed.teams:100}") int teams,
+                            @Value("${member.seed.members:100000}") int members) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.teamNameDictionary = teamNameDictionary;
+        this.changeSequence = changeSequence;
+        this.fullTextIndex = fullTextIndex;
+        this.teams = teams;
+        this.members = members;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed(teams, members);
+    }
+
+    public void seed(int teamCount, int memberCount) {
+        long start = System.nanoTime();
+        // 회원 전문 검색 트리거는 적재가 끝난 뒤 한 번에 다시 색인
+        try (FullTextIndex.Suspension suspension = fullTextIndex.suspendMemberIndex();
+             ChangeSequence.Window window = changeSequence.open()) {
+            List<Long> teamIds = new ArrayList<>();
+            for (int i = 0; i < teamCount; i++) {
+                Long id = jdbcTemplate.queryForObject("select next value for hibernate_sequence", Long.class);
+                jdbcTemplate.update("insert into team (team_id, name, change_seq)"
+                        + " values (?, ?, next value for change_sequence)", id, "team" + i);
+                teamIds.add(id);
+            }
+            teamNameDictionary.invalidate();
+
+            List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = 0; i < memberCount; i++) {
+                Long teamId = teamIds.isEmpty() ? null : teamIds.get(i % teamIds.size());
+                batch.add(new Object[]{"member" + i, i % 100, teamId});
+                if (batch.size() == BATCH_SIZE || i == memberCount - 1) {
+                    jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id, change_seq)"
+                            + " values (next value for hibernate_sequence, ?, ?, ?, next value for change_sequence)", batch);
+                    batch.clear();
+                }
+            }
+        }
+        log.info("seeded {} teams and {} members in {}ms",
+                teamCount, memberCount, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
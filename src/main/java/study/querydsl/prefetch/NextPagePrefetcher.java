@@ -0,0 +1,177 @@
+package study.querydsl.prefetch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * /v2/members 다음 페이지 미리 읽기 (member.prefetch.enabled, 기본 꺼짐)
+ * 페이지 N 을 응답한 뒤 N+1 을 비동기로 읽어 짧게(ttl) 보관
+ * - 동시에 미리 읽는 쿼리 수는 max-concurrency 로 제한, 넘으면 건너뜀
+ * - 보관 중인 페이지 크기 합은 memory-budget 으로 제한
+ * - 보관 중인 페이지는 ttl 만큼 오래된 데이터일 수 있음
+ * 적중률은 member.prefetch.requests(result=hit/miss) 로 확인
+ */
+@Slf4j
+@Component
+public class NextPagePrefetcher implements DisposableBean {
+    private final MemberRepository memberRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final boolean enabled;
+    private final long maxWaitNanos;
+    private final PrefetchCache cache;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter issued;
+    private final Counter skippedConcurrency;
+    private final Counter skippedMemory;
+    private final Counter expired;
+
+    public NextPagePrefetcher(MemberRepository memberRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${member.prefetch.enabled:false}") boolean enabled,
+                              @Value("${member.prefetch.ttl:10s}") Duration ttl,
+                              @Value("${member.prefetch.max-wait:200ms}") Duration maxWait,
+                              @Value("${member.prefetch.max-concurrency:4}") int maxConcurrency,
+                              @Value("${member.prefetch.memory-budget:16MB}") DataSize memoryBudget) {
+        this.memberRepository = memberRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.enabled = enabled;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.cache = new PrefetchCache(ttl.toNanos(), memoryBudget.toBytes());
+        this.permits = new Semaphore(maxConcurrency);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "member-prefetch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        hits = requestCounter(meterRegistry, "hit");
+        misses = requestCounter(meterRegistry, "miss");
+        issued = meterRegistry.counter("member.prefetch.issued");
+        skippedConcurrency = meterRegistry.counter("member.prefetch.skipped", "reason", "concurrency");
+        skippedMemory = meterRegistry.counter("member.prefetch.skipped", "reason", "memory");
+        expired = meterRegistry.counter("member.prefetch.expired");
+        Gauge.builder("member.prefetch.bytes", cache, PrefetchCache::usedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("member.prefetch.hit-ratio", this, NextPagePrefetcher::getHitRatio)
+                .register(meterRegistry);
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("member.prefetch.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        if (!enabled || pageable.isUnpaged()) {
+            return memberRepository.searchPageSimple(condition, pageable);
+        }
+
+        // 캐시 키와 미리 읽는 쿼리 모두 실제로 실행하는 조건 그대로 사용
+        PageKey key = PageKey.of(condition, pageable);
+        Page<MemberTeamDto> page = take(key);
+        if (page != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            page = memberRepository.searchPageSimple(condition, pageable);
+        }
+
+        if (page.hasNext()) {
+            prefetch(key.next());
+        }
+        return page;
+    }
+
+    public double getHitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+
+    private Page<MemberTeamDto> take(PageKey key) {
+        try {
+            return cache.take(key, maxWaitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void prefetch(PageKey key) {
+        if (!permits.tryAcquire()) {
+            skippedConcurrency.increment();
+            return;
+        }
+        PrefetchCache.Entry entry = cache.reserve(key);
+        if (entry == null) {
+            permits.release();
+            return;
+        }
+        issued.increment();
+        MemberSearchCondition condition = key.toCondition();
+        Pageable pageable = key.toPageable();
+        try {
+            executor.execute(() -> {
+                try {
+                    Page<MemberTeamDto> page = readOnlyTransaction.execute(
+                            status -> memberRepository.searchPageSimple(condition, pageable));
+                    if (!cache.complete(key, entry, page)) {
+                        skippedMemory.increment();
+                    }
+                } catch (RuntimeException e) {
+                    cache.fail(key, entry);
+                    log.warn("prefetch failed: {}", key, e);
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            // 종료 중
+            cache.fail(key, entry);
+            permits.release();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${member.prefetch.eviction-interval:PT10S}")
+    public void evictExpired() {
+        int evicted = cache.evictExpired();
+        if (evicted > 0) {
+            expired.increment(evicted);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,46 @@
+package study.querydsl.prefetch;
+
+import lombok.Data;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberSearchCondition;
+
+/*
+ * 실제로 실행하는 조건 + 정렬 + 페이지 크기 + 페이지 번호
+ * SearchKey 와 달리 문자열을 trim 하지 않음 (usernameEq 는 "member1 " 을 그대로 비교하므로 다른 결과)
+ * 빈 문자열만 조건 없음(null)과 같게 취급, 리포지토리도 hasText 로 같게 처리함
+ */
+@Data
+class PageKey {
+    private final String username;
+    private final String teamName;
+    private final Integer ageGoe;
+    private final Integer ageLoe;
+    private final Sort sort;
+    private final int pageSize;
+    private final int pageNumber;
+
+    static PageKey of(MemberSearchCondition condition, Pageable pageable) {
+        return new PageKey(blankToNull(condition.getUsername()), blankToNull(condition.getTeamName()),
+                condition.getAgeGoe(), condition.getAgeLoe(),
+                pageable.getSort(), pageable.getPageSize(), pageable.getPageNumber());
+    }
+
+    PageKey next() {
+        return new PageKey(username, teamName, ageGoe, ageLoe, sort, pageSize, pageNumber + 1);
+    }
+
+    MemberSearchCondition toCondition() {
+        return new MemberSearchCondition(username, teamName, ageGoe, ageLoe);
+    }
+
+    Pageable toPageable() {
+        return PageRequest.of(pageNumber, pageSize, sort);
+    }
+
+    private static String blankToNull(String value) {
+        return StringUtils.hasText(value) ? value : null;
+    }
+}
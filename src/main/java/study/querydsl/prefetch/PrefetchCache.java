@@ -0,0 +1,136 @@
+package study.querydsl.prefetch;
+
+import org.springframework.data.domain.Page;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * 미리 읽은 페이지 보관
+ * - 한 번 꺼내면 제거 (같은 페이지를 다시 요청하면 DB 조회)
+ * - ttl 이 지나면 버림
+ * - 보관 중인 페이지의 추정 크기 합이 budget 을 넘지 않게 함
+ * - 아직 읽는 중인 페이지를 요청하면 잠깐 기다림
+ */
+class PrefetchCache {
+    private final long ttlNanos;
+    private final long budgetBytes;
+    private final Map<PageKey, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    PrefetchCache(long ttlNanos, long budgetBytes) {
+        this.ttlNanos = ttlNanos;
+        this.budgetBytes = budgetBytes;
+    }
+
+    // 이미 보관 중이거나 읽는 중이면 null
+    Entry reserve(PageKey key) {
+        Entry entry = new Entry(System.nanoTime() + ttlNanos);
+        return entries.putIfAbsent(key, entry) == null ? entry : null;
+    }
+
+    // budget 을 넘으면 보관하지 않고 false
+    boolean complete(PageKey key, Entry entry, Page<MemberTeamDto> page) {
+        long bytes = estimateBytes(page);
+        if (usedBytes.addAndGet(bytes) > budgetBytes) {
+            usedBytes.addAndGet(-bytes);
+            fail(key, entry);
+            return false;
+        }
+        entry.bytes = bytes;
+        entry.future.complete(page);
+        // 기다리다 포기하고 이미 제거된 경우
+        if (entries.get(key) != entry) {
+            release(entry);
+        }
+        return true;
+    }
+
+    void fail(PageKey key, Entry entry) {
+        entries.remove(key, entry);
+        entry.future.complete(null);
+    }
+
+    // 없거나 만료됐거나 maxWait 안에 읽기가 끝나지 않으면 null
+    Page<MemberTeamDto> take(PageKey key, long maxWaitNanos) throws InterruptedException {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            release(entry);
+            return null;
+        }
+        try {
+            Page<MemberTeamDto> page = entry.future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+            release(entry);
+            return page;
+        } catch (TimeoutException | ExecutionException e) {
+            return null;
+        }
+    }
+
+    int evictExpired() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry entry = it.next();
+            if (entry.isExpired(now) && entry.future.isDone()) {
+                it.remove();
+                release(entry);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    long usedBytes() {
+        return usedBytes.get();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void release(Entry entry) {
+        if (entry.future.isDone() && entry.released.compareAndSet(false, true)) {
+            usedBytes.addAndGet(-entry.bytes);
+        }
+    }
+
+    // 객체 헤더, 필드, 문자열(UTF-16) 기준 대략적인 힙 사용량
+    static long estimateBytes(Page<MemberTeamDto> page) {
+        long bytes = 128;
+        for (MemberTeamDto dto : page.getContent()) {
+            bytes += 64 + stringBytes(dto.getUsername()) + stringBytes(dto.getTeamName());
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+
+    static class Entry {
+        private final long expiresAt;
+        private final CompletableFuture<Page<MemberTeamDto>> future = new CompletableFuture<>();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile long bytes;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
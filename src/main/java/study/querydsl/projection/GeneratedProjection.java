@@ -0,0 +1,49 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.FactoryExpressionBase;
+import com.querydsl.core.types.Visitor;
+
+import java.util.List;
+
+/*
+ * Projections.bean/fields/constructor 와 같은 select 절을 만들지만
+ * 행 변환은 GeneratedProjections 가 DTO 별로 만든 ProjectionMapper 로 처리
+ */
+public class GeneratedProjection<T> extends FactoryExpressionBase<T> {
+    private final List<Expression<?>> args;
+    private final ProjectionMapper<T> mapper;
+
+    GeneratedProjection(Class<? extends T> type, List<Expression<?>> args, ProjectionMapper<T> mapper) {
+        super(type);
+        this.args = args;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public List<Expression<?>> getArgs() {
+        return args;
+    }
+
+    @Override
+    public T newInstance(Object... args) {
+        return mapper.map(args);
+    }
+
+    @Override
+    public <R, C> R accept(Visitor<R, C> v, C context) {
+        return v.visit(this, context);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof GeneratedProjection)) {
+            return false;
+        }
+        GeneratedProjection<?> other = (GeneratedProjection<?>) o;
+        return getType().equals(other.getType()) && args.equals(other.args) && mapper == other.mapper;
+    }
+}
@@ -0,0 +1,233 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionException;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import lombok.Value;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/*
+ * Projections.bean/fields/constructor 대체
+ * Querydsl 의 QBean, ConstructorExpression 은 행마다 리플렉션(Method.invoke, Field.set, Constructor.newInstance)으로 DTO 를 채움
+ * 여기서는 DTO 클래스 + 매핑 방식 + 인자 구성별로 변환기를 한 번 만들어 캐시
+ * - bean: 기본 생성자, setter 를 LambdaMetafactory 로 Supplier / BiConsumer 구현체로 생성
+ * - fields: 필드 대입은 LambdaMetafactory 대상이 아니므로 MethodHandle 필드 setter
+ * - constructor: 생성자 MethodHandle 에 Object[] 를 펼쳐 전달
+ * bean/fields 는 QBean 과 같이 null 값은 대입하지 않음
+ *
+ * 예) queryFactory.select(GeneratedProjections.bean(MemberDto.class, member.username, member.age))
+ */
+public final class GeneratedProjections {
+    private static final Map<MapperKey, ProjectionMapper<?>> MAPPERS = new ConcurrentHashMap<>();
+
+    private GeneratedProjections() {
+    }
+
+    // setter 주입, 이름은 경로 이름 또는 별칭 (member.username.as("name"))
+    public static <T> GeneratedProjection<T> bean(Class<? extends T> type, Expression<?>... exprs) {
+        List<Expression<?>> args = List.of(exprs);
+        return new GeneratedProjection<>(type, args, mapper(Style.BEAN, type, names(args)));
+    }
+
+    // 필드 직접 대입, 이름 규칙은 bean 과 같음
+    public static <T> GeneratedProjection<T> fields(Class<? extends T> type, Expression<?>... exprs) {
+        List<Expression<?>> args = List.of(exprs);
+        return new GeneratedProjection<>(type, args, mapper(Style.FIELDS, type, names(args)));
+    }
+
+    // 인자 타입과 순서가 맞는 생성자 사용 (int <-> Integer 허용)
+    public static <T> GeneratedProjection<T> constructor(Class<? extends T> type, Expression<?>... exprs) {
+        List<Expression<?>> args = List.of(exprs);
+        List<Class<?>> types = new ArrayList<>(args.size());
+        for (Expression<?> arg : args) {
+            types.add(arg.getType());
+        }
+        return new GeneratedProjection<>(type, args, mapper(Style.CONSTRUCTOR, type, types));
+    }
+
+    static int cachedMappers() {
+        return MAPPERS.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ProjectionMapper<T> mapper(Style style, Class<? extends T> type, List<?> signature) {
+        return (ProjectionMapper<T>) MAPPERS.computeIfAbsent(new MapperKey(style, type, signature),
+                GeneratedProjections::generate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProjectionMapper<?> generate(MapperKey key) {
+        Class<?> type = key.getType();
+        try {
+            switch (key.getStyle()) {
+                case BEAN:
+                    return beanMapper(type, (List<String>) key.getSignature());
+                case FIELDS:
+                    return fieldsMapper(type, (List<String>) key.getSignature());
+                default:
+                    return constructorMapper(type, (List<Class<?>>) key.getSignature());
+            }
+        } catch (ExpressionException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new ExpressionException("cannot generate " + key.getStyle() + " projection for " + type.getName(), e);
+        }
+    }
+
+    private static ProjectionMapper<Object> beanMapper(Class<?> type, List<String> names) throws Throwable {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        Supplier<Object> factory = newInstance(lookup, type);
+        List<BiConsumer<Object, Object>> setters = new ArrayList<>(names.size());
+        for (String name : names) {
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, name);
+            if (property == null || property.getWriteMethod() == null) {
+                throw new ExpressionException("no setter for " + name + " in " + type.getName());
+            }
+            setters.add(setter(lookup, type, lookup.unreflect(property.getWriteMethod()), property.getPropertyType()));
+        }
+        return populate(factory, setters);
+    }
+
+    private static ProjectionMapper<Object> fieldsMapper(Class<?> type, List<String> names) throws Throwable {
+        Supplier<Object> factory = newInstance(MethodHandles.privateLookupIn(type, MethodHandles.lookup()), type);
+        List<BiConsumer<Object, Object>> setters = new ArrayList<>(names.size());
+        for (String name : names) {
+            Field field = ReflectionUtils.findField(type, name);
+            if (field == null) {
+                throw new ExpressionException("no field " + name + " in " + type.getName());
+            }
+            MethodHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup())
+                    .unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            setters.add((target, value) -> {
+                try {
+                    handle.invokeExact(target, value);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new ExpressionException(e.getMessage(), e);
+                }
+            });
+        }
+        return populate(factory, setters);
+    }
+
+    private static ProjectionMapper<Object> populate(Supplier<Object> factory, List<BiConsumer<Object, Object>> setterList) {
+        @SuppressWarnings("unchecked")
+        BiConsumer<Object, Object>[] setters = setterList.toArray(new BiConsumer[0]);
+        return args -> {
+            Object result = factory.get();
+            for (int i = 0; i < setters.length; i++) {
+                if (args[i] != null) {
+                    setters[i].accept(result, args[i]);
+                }
+            }
+            return result;
+        };
+    }
+
+    private static ProjectionMapper<Object> constructorMapper(Class<?> type, List<Class<?>> argTypes) throws Throwable {
+        Constructor<?> constructor = findConstructor(type, argTypes);
+        MethodHandle handle = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                .unreflectConstructor(constructor)
+                .asSpreader(Object[].class, argTypes.size())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return args -> {
+            try {
+                return (Object) handle.invokeExact(args);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ExpressionException(e.getMessage(), e);
+            }
+        };
+    }
+
+    private static Constructor<?> findConstructor(Class<?> type, List<Class<?>> argTypes) {
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            if (parameterTypes.length != argTypes.size()) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < parameterTypes.length && matches; i++) {
+                matches = ClassUtils.isAssignable(parameterTypes[i], argTypes.get(i));
+            }
+            if (matches) {
+                return constructor;
+            }
+        }
+        throw new ExpressionException("no constructor " + type.getName() + argTypes);
+    }
+
+    // 기본 생성자 -> Supplier 구현 클래스
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> newInstance(MethodHandles.Lookup lookup, Class<?> type) throws Throwable {
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        return (Supplier<Object>) LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                constructor,
+                MethodType.methodType(type))
+                .getTarget().invokeExact();
+    }
+
+    // setX(int) -> BiConsumer<Object, Object> 구현 클래스, 값은 Integer 로 받아 언박싱
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(MethodHandles.Lookup lookup, Class<?> type,
+                                                     MethodHandle setter, Class<?> propertyType) throws Throwable {
+        return (BiConsumer<Object, Object>) LambdaMetafactory.metafactory(lookup, "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                setter,
+                MethodType.methodType(void.class, type, ClassUtils.resolvePrimitiveIfNecessary(propertyType)))
+                .getTarget().invokeExact();
+    }
+
+    private static List<String> names(List<Expression<?>> args) {
+        List<String> names = new ArrayList<>(args.size());
+        for (Expression<?> arg : args) {
+            names.add(nameOf(arg));
+        }
+        return names;
+    }
+
+    private static String nameOf(Expression<?> expr) {
+        if (expr instanceof Path) {
+            return ((Path<?>) expr).getMetadata().getName();
+        }
+        if (expr instanceof Operation && ((Operation<?>) expr).getOperator() == Ops.ALIAS) {
+            return nameOf(((Operation<?>) expr).getArg(1));
+        }
+        throw new ExpressionException("projection argument needs a path or an alias: " + expr);
+    }
+
+    private enum Style {
+        BEAN, FIELDS, CONSTRUCTOR
+    }
+
+    @Value
+    private static class MapperKey {
+        Style style;
+        Class<?> type;
+        List<?> signature;
+    }
+}
@@ -0,0 +1,7 @@
+package study.querydsl.projection;
+
+// select 한 행(args, select 순서)을 DTO 로 변환, DTO 클래스와 매핑 방식별로 한 번 만들어 재사용
+@FunctionalInterface
+interface ProjectionMapper<T> {
+    T map(Object[] args);
+}
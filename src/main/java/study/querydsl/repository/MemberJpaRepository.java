@@ -2,19 +2,33 @@ package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.StringExpression;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.QTeam;
+import study.querydsl.repository.support.OptimizedPredicate;
+import study.querydsl.repository.support.MemberUsernameFilter;
+import study.querydsl.repository.support.PredicateOptimizer;
+import study.querydsl.repository.support.TeamNameDictionary;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
@@ -24,6 +38,9 @@ import static study.querydsl.entity.QTeam.team;
 public class MemberJpaRepository {
     private final EntityManager em;
     private final JPAQueryFactory queryFactory;
+    private final PredicateOptimizer predicateOptimizer;
+    private final MemberUsernameFilter usernameFilter;
+    private final TeamNameDictionary teamNameDictionary;
 
     public void save(Member member) {
         em.persist(member);
@@ -46,19 +63,36 @@ public class MemberJpaRepository {
     }
 
     public List<Member> findByUsername(String username) {
-        return em.createQuery("select m from Member m where m.username = :username", Member.class)
+        if (usernameFilter.isDefinitelyAbsent(username)) {
+            return Collections.emptyList();
+        }
+        List<Member> result = em.createQuery("select m from Member m where m.username = :username", Member.class)
                 .setParameter("username", username)
                 .getResultList();
+        usernameFilter.recordLookup(!result.isEmpty());
+        return result;
     }
 
     public List<Member> findByUsername_QueryDsl(String username) {
-        return queryFactory
+        if (usernameFilter.isDefinitelyAbsent(username)) {
+            return Collections.emptyList();
+        }
+        List<Member> result = queryFactory
                 .selectFrom(member)
                 .where(member.username.eq(username))
                 .fetch();
+        usernameFilter.recordLookup(!result.isEmpty());
+        return result;
     }
 
+    @Transactional(readOnly = true)
     public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        // 항상 거짓인 조건은 쿼리를 실행하지 않음
+        if (predicate.isContradiction()) {
+            return Collections.emptyList();
+        }
+
         return queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -69,8 +103,98 @@ public class MemberJpaRepository {
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(searchBuilder(condition))
+                .where(predicate.getPredicate())
+                .fetch();
+    }
+
+    /*
+    * 여러 검색 조건을 한 번에 조회
+    * username 만 다른 조건들은 username in (...) 한 번으로,
+    * username 없이 teamName 만 다른 조건들은 team.name in (...) 한 번으로 묶어 조회한 뒤 조건별로 다시 나눔
+    * 빈 문자열은 조건 없음(null)과 같게 정규화한 조건을 결과의 키로 사용
+    * */
+    @Transactional(readOnly = true)
+    public List<List<MemberTeamDto>> searchBatchByBuilder(List<MemberSearchCondition> conditions) {
+        Map<MemberSearchCondition, List<MemberTeamDto>> results = new HashMap<>();
+        Map<MemberSearchCondition, Set<String>> usernameGroups = new LinkedHashMap<>();
+        Map<MemberSearchCondition, Set<String>> teamNameGroups = new LinkedHashMap<>();
+
+        List<MemberSearchCondition> normalized = new ArrayList<>(conditions.size());
+        for (MemberSearchCondition condition : conditions) {
+            normalized.add(normalize(condition));
+        }
+
+        for (MemberSearchCondition condition : new LinkedHashSet<>(normalized)) {
+            if (condition.getUsername() != null) {
+                MemberSearchCondition common = new MemberSearchCondition(
+                        null, condition.getTeamName(), condition.getAgeGoe(), condition.getAgeLoe());
+                usernameGroups.computeIfAbsent(common, key -> new LinkedHashSet<>()).add(condition.getUsername());
+            } else if (condition.getTeamName() != null) {
+                MemberSearchCondition common = new MemberSearchCondition(
+                        null, null, condition.getAgeGoe(), condition.getAgeLoe());
+                teamNameGroups.computeIfAbsent(common, key -> new LinkedHashSet<>()).add(condition.getTeamName());
+            } else {
+                results.put(condition, searchByBuilder(condition));
+            }
+        }
+
+        usernameGroups.forEach((common, usernames) -> {
+            Map<String, List<MemberTeamDto>> rows = searchGrouped(common, member.username, usernames, MemberTeamDto::getUsername);
+            for (String username : usernames) {
+                MemberSearchCondition condition = new MemberSearchCondition(
+                        username, common.getTeamName(), common.getAgeGoe(), common.getAgeLoe());
+                results.put(condition, rows.getOrDefault(username, Collections.emptyList()));
+            }
+        });
+        teamNameGroups.forEach((common, teamNames) -> {
+            Map<String, List<MemberTeamDto>> rows = searchGrouped(common, team.name, teamNames, MemberTeamDto::getTeamName);
+            for (String teamName : teamNames) {
+                MemberSearchCondition condition = new MemberSearchCondition(
+                        null, teamName, common.getAgeGoe(), common.getAgeLoe());
+                results.put(condition, rows.getOrDefault(teamName, Collections.emptyList()));
+            }
+        });
+
+        List<List<MemberTeamDto>> ordered = new ArrayList<>(conditions.size());
+        for (MemberSearchCondition condition : normalized) {
+            ordered.add(results.get(condition));
+        }
+        return ordered;
+    }
+
+    private MemberSearchCondition normalize(MemberSearchCondition condition) {
+        return new MemberSearchCondition(
+                StringUtils.hasText(condition.getUsername()) ? condition.getUsername() : null,
+                StringUtils.hasText(condition.getTeamName()) ? condition.getTeamName() : null,
+                condition.getAgeGoe(),
+                condition.getAgeLoe());
+    }
+
+    private Map<String, List<MemberTeamDto>> searchGrouped(MemberSearchCondition common, StringExpression path,
+                                                           Set<String> values, Function<MemberTeamDto, String> key) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(common).and(path.in(values)));
+        if (predicate.isContradiction()) {
+            return Collections.emptyMap();
+        }
+
+        List<MemberTeamDto> rows = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ))
+                .from(member)
+                .leftJoin(member.team, team)
+                .where(predicate.getPredicate())
                 .fetch();
+
+        Map<String, List<MemberTeamDto>> grouped = new HashMap<>();
+        for (MemberTeamDto row : rows) {
+            grouped.computeIfAbsent(key.apply(row), k -> new ArrayList<>()).add(row);
+        }
+        return grouped;
     }
 
     private BooleanExpression ageBetween(int ageLoe, int ageGoe) {
@@ -82,7 +206,7 @@ public class MemberJpaRepository {
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+        return teamNameDictionary.memberTeamNameEq(teamName);
     }
 
     private BooleanExpression ageGoe(Integer age) {
@@ -1,14 +1,27 @@
 package study.querydsl.repository;
 
+import com.querydsl.core.types.Predicate;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.MemberFields;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
 
 import java.util.List;
+import java.util.Map;
 
 public interface MemberRepositoryCustom {
+    // 없는 username 은 MemberUsernameFilter 로 SQL 없이 걸러냄
+    List<Member> findByUsername(String username);
     List<MemberTeamDto> search(MemberSearchCondition condition);
     Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable);
     Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+    // 요청한 필드만 select, 팀 이름을 요청하지 않으면 조인 없음
+    List<Map<String, Object>> searchFields(MemberSearchCondition condition, MemberFields fields);
+    Page<Map<String, Object>> searchPageFields(MemberSearchCondition condition, Pageable pageable, MemberFields fields);
+    // 외부에서 받은 Predicate, QueryCostGuard 를 통과해야 실행
+    Page<MemberTeamDto> searchByPredicate(Predicate predicate, Pageable pageable);
+    // username 또는 팀 이름에 text 의 단어가 들어 있는 회원 (FullTextIndex)
+    Page<MemberTeamDto> searchText(String text, Pageable pageable);
 }
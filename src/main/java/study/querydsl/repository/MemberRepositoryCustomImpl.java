@@ -1,40 +1,98 @@
 package study.querydsl.repository;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import study.querydsl.dto.MemberFields;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.QTeam;
+import study.querydsl.changes.ChangeSequence;
+import study.querydsl.heavyhitter.SearchKey;
+import study.querydsl.repository.support.FullTextIndex;
+import study.querydsl.repository.support.MemberUsernameFilter;
+import study.querydsl.repository.support.OptimizedPredicate;
+import study.querydsl.repository.support.PageAnchorCache;
+import study.querydsl.repository.support.PredicateOptimizer;
+import study.querydsl.repository.support.QueryCostGuard;
+import study.querydsl.repository.support.TeamNameDictionary;
 
 import javax.persistence.EntityManager;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
+// 조회 결과(DTO)를 트랜잭션 안에서 만들고 커넥션을 바로 반납 (open-in-view 꺼짐)
+@Transactional(readOnly = true)
 public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implements MemberRepositoryCustom {
     private final JPAQueryFactory queryFactory;
+    private final PredicateOptimizer predicateOptimizer;
+    private final MemberUsernameFilter usernameFilter;
+    private final TeamNameDictionary teamNameDictionary;
+    private final QueryCostGuard queryCostGuard;
+    private final PageAnchorCache pageAnchorCache;
+    private final ChangeSequence changeSequence;
+    private final FullTextIndex fullTextIndex;
 
-    public MemberRepositoryCustomImpl() {
+    public MemberRepositoryCustomImpl(PredicateOptimizer predicateOptimizer, MemberUsernameFilter usernameFilter,
+                                      TeamNameDictionary teamNameDictionary, QueryCostGuard queryCostGuard,
+                                      PageAnchorCache pageAnchorCache, ChangeSequence changeSequence,
+                                      FullTextIndex fullTextIndex) {
         super(Member.class);
         queryFactory = new JPAQueryFactory(getEntityManager());
+        this.predicateOptimizer = predicateOptimizer;
+        this.usernameFilter = usernameFilter;
+        this.teamNameDictionary = teamNameDictionary;
+        this.queryCostGuard = queryCostGuard;
+        this.pageAnchorCache = pageAnchorCache;
+        this.changeSequence = changeSequence;
+        this.fullTextIndex = fullTextIndex;
+    }
+
+    @Override
+    public List<Member> findByUsername(String username) {
+        if (usernameFilter.isDefinitelyAbsent(username)) {
+            return Collections.emptyList();
+        }
+        // 파생 쿼리(findByUsername)와 같이 null 은 is null 로 조회
+        List<Member> result = from(member)
+                .where(username == null ? member.username.isNull() : member.username.eq(username))
+                .fetch();
+        usernameFilter.recordLookup(!result.isEmpty());
+        return result;
     }
 
     @Override
     public List<MemberTeamDto> search(MemberSearchCondition condition) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return Collections.emptyList();
+        }
+
         from(member)
                 .leftJoin(member.team, team)
-                .where(searchBuilder(condition))
+                .where(predicate.getPredicate())
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -54,12 +112,29 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(searchBuilder(condition))
+                .where(predicate.getPredicate())
                 .fetch();
     }
 
     @Override
     public Page<MemberTeamDto> searchPageSimple(MemberSearchCondition condition, Pageable pageable) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return emptyPage(pageable);
+        }
+
+        // 깊은 페이지는 가장 가까운 앵커부터 seek 한 뒤 남은 만큼만 offset
+        MemberSeekOrder order = MemberSeekOrder.of(pageable.getSort());
+        // 정규화된 조건 + 정렬
+        List<Object> anchorKey = List.of(SearchKey.v1(condition), order);
+        long version = pageAnchorCache.version();
+        // 앵커를 쓰거나 기록할 수 있는 페이지만 DB 상태를 읽음, 건수는 전체 건수로 재사용
+        PageAnchorCache.Fingerprint fingerprint = pageAnchorCache.covers(pageable.getOffset(), pageable.getPageSize())
+                ? fingerprint(predicate.getPredicate())
+                : null;
+        PageAnchorCache.Seek seek = fingerprint == null ? null
+                : pageAnchorCache.seek(anchorKey, pageable.getOffset(), fingerprint);
+
         List<MemberTeamDto> result = queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -70,25 +145,95 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(searchBuilder(condition))
-                .offset(pageable.getOffset())
+                .where(predicate.getPredicate(), seek == null ? null : order.from(seek.getAnchor()))
+                .orderBy(order.orderBy())
+                .offset(seek == null ? pageable.getOffset() : pageable.getOffset() - seek.getPosition())
                 .limit(pageable.getPageSize())
                 .fetch();
 
+        if (fingerprint == null) {
+            JPAQuery<Long> countQuery = queryFactory
+                    .select(member.count())
+                    .from(member)
+                    .where(predicate.getPredicate());
+            return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
+        }
+        // 커밋되지 않은 변경이 보이는 결과는 다른 요청과 위치가 다를 수 있으므로 기록하지 않음
+        // (flush 되지 않은 변경도 쿼리 전 자동 flush 에서 순번을 받으므로 함께 걸러짐)
+        if (!changeSequence.isWritingInTransaction()) {
+            pageAnchorCache.record(anchorKey, version, fingerprint, pageable.getOffset(), result, order::anchorOf);
+        }
+        return new PageImpl<>(result, pageable, fingerprint.getRowCount());
+    }
+
+    // 다른 노드나 SQL 로 바뀐 데이터도 앵커에 반영되도록 건수와 최대 change_seq 를 DB 에서 읽음
+    private PageAnchorCache.Fingerprint fingerprint(Predicate predicate) {
+        NumberExpression<Long> count = member.count();
+        NumberExpression<Long> maxChangeSeq = member.changeSeq.max();
+        Tuple tuple = queryFactory
+                .select(count, maxChangeSeq)
+                .from(member)
+                .where(predicate)
+                .fetchOne();
+        return new PageAnchorCache.Fingerprint(Objects.requireNonNull(tuple).get(count), tuple.get(maxChangeSeq));
+    }
+
+    @Override
+    public List<Map<String, Object>> searchFields(MemberSearchCondition condition, MemberFields fields) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return Collections.emptyList();
+        }
+        return toMaps(fields, selectFields(fields)
+                .where(predicate.getPredicate())
+                .fetch());
+    }
+
+    @Override
+    public Page<Map<String, Object>> searchPageFields(MemberSearchCondition condition, Pageable pageable,
+                                                      MemberFields fields) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
+        // searchPageSimple 과 같은 순서
+        List<Map<String, Object>> result = toMaps(fields, selectFields(fields)
+                .where(predicate.getPredicate())
+                .orderBy(MemberSeekOrder.of(pageable.getSort()).orderBy())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch());
+
         JPAQuery<Long> countQuery = queryFactory
                 .select(member.count())
                 .from(member)
-                .leftJoin(member.team, team)
-                .where(searchBuilder(condition));
+                .where(predicate.getPredicate());
 
         return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
     }
 
+    private JPAQuery<Tuple> selectFields(MemberFields fields) {
+        JPAQuery<Tuple> query = queryFactory
+                .select(Projections.tuple(fields.expressions()))
+                .from(member);
+        return fields.needsTeamJoin() ? query.leftJoin(member.team, team) : query;
+    }
+
+    private List<Map<String, Object>> toMaps(MemberFields fields, List<Tuple> tuples) {
+        return tuples.stream().map(fields::toMap).collect(Collectors.toList());
+    }
+
     // QuerydslRepositorySupport 사용
     public Page<MemberTeamDto> searchPageSimple2(MemberSearchCondition condition, Pageable pageable) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return emptyPage(pageable);
+        }
+
         JPQLQuery<MemberTeamDto> query = from(member)
                 .leftJoin(member.team, team)
-                .where(searchBuilder(condition))
+                .where(predicate.getPredicate())
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
                         member.username,
@@ -100,8 +245,7 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
         List<MemberTeamDto> result = Objects.requireNonNull(getQuerydsl()).applyPagination(pageable, query).fetch();
 
         JPQLQuery<Long> countQuery = from(member)
-                .leftJoin(member.team, team)
-                .where(searchBuilder(condition))
+                .where(predicate.getPredicate())
                 .select(member.count());
 
         return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
@@ -109,6 +253,11 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
 
     @Override
     public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return emptyPage(pageable);
+        }
+
         List<MemberTeamDto> result = queryFactory
                 .select(new QMemberTeamDto(
                         member.id.as("memberId"),
@@ -119,23 +268,100 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
                 ))
                 .from(member)
                 .leftJoin(member.team, team)
-                .where(searchBuilder(condition))
+                .where(predicate.getPredicate())
                 .fetch();
 
         // 카운트 쿼리 최적화
         JPAQuery<Long> countQuery = queryFactory
                 .select(member.count())
                 .from(member)
+                .where(predicate.getPredicate());
+
+        return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchByPredicate(Predicate predicate, Pageable pageable) {
+        OptimizedPredicate optimized = predicateOptimizer.optimize(predicate);
+        if (optimized.isContradiction()) {
+            return emptyPage(pageable);
+        }
+        Pageable checked = queryCostGuard.check(Member.class, optimized.getPredicate(), pageable);
+
+        JPQLQuery<MemberTeamDto> query = from(member)
+                .leftJoin(member.team, team)
+                .where(optimized.getPredicate())
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ));
+
+        List<MemberTeamDto> result = Objects.requireNonNull(getQuerydsl()).applyPagination(checked, query).fetch();
+
+        JPQLQuery<Long> countQuery = from(member)
+                .where(optimized.getPredicate())
+                .select(member.count());
+
+        return PageableExecutionUtils.getPage(result, checked, countQuery::fetchOne);
+    }
+
+    @Override
+    public Page<MemberTeamDto> searchText(String text, Pageable pageable) {
+        BooleanExpression matches = textMatches(text);
+        if (matches == null) {
+            return emptyPage(pageable);
+        }
+
+        List<MemberTeamDto> result = queryFactory
+                .select(new QMemberTeamDto(
+                        member.id.as("memberId"),
+                        member.username,
+                        member.age,
+                        team.id.as("teamId"),
+                        team.name.as("teamName")
+                ))
+                .from(member)
                 .leftJoin(member.team, team)
-                .where(searchBuilder(condition));
+                .where(matches)
+                .orderBy(MemberSeekOrder.of(pageable.getSort()).orderBy())
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .fetch();
+
+        JPAQuery<Long> countQuery = queryFactory
+                .select(member.count())
+                .from(member)
+                .where(matches);
 
         return PageableExecutionUtils.getPage(result, pageable, countQuery::fetchOne);
     }
 
+    // 전문 검색 인덱스가 없으면(H2 가 아닌 DB) like 로 대신함
+    private BooleanExpression textMatches(String text) {
+        if (!StringUtils.hasText(text)) {
+            return null;
+        }
+        if (!fullTextIndex.isAvailable()) {
+            QTeam matched = new QTeam("matched");
+            return member.username.containsIgnoreCase(text).or(member.team.id.in(JPAExpressions
+                    .select(matched.id)
+                    .from(matched)
+                    .where(matched.name.containsIgnoreCase(text))));
+        }
+        return FullTextIndex.usernameMatches(text).or(FullTextIndex.teamNameMatches(text));
+    }
+
+    // 모순된 조건은 content, count 쿼리 모두 생략
+    private Page<MemberTeamDto> emptyPage(Pageable pageable) {
+        return new PageImpl<>(Collections.emptyList(), pageable, 0);
+    }
+
     private long getTotal(MemberSearchCondition condition) {
         return queryFactory
                 .selectFrom(member)
-                .leftJoin(member.team, team)
                 .where(searchBuilder(condition))
                 .fetch().size();
     }
@@ -148,8 +374,9 @@ public class MemberRepositoryCustomImpl extends QuerydslRepositorySupport implem
         return StringUtils.hasText(username) ? member.username.eq(username) : null;
     }
 
+    // 팀 조인 없이 FK 로 조회, 팀 컬럼을 조회하는 쿼리에서만 조인
     private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+        return teamNameDictionary.memberTeamNameEq(teamName);
     }
 
     private BooleanExpression ageGoe(Integer age) {
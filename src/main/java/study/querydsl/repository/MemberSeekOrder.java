@@ -0,0 +1,100 @@
+package study.querydsl.repository;
+
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.PageAnchor;
+
+import static study.querydsl.entity.QMember.member;
+
+/*
+ * 페이지 조회 정렬 (id 로 동률을 끊어 항상 같은 순서)
+ * 앵커 seek 는 null 이 없는 id, age 정렬만 지원하고, 그 외 정렬은 예전처럼 무시하고 id 순
+ */
+enum MemberSeekOrder {
+    ID_ASC {
+        @Override
+        OrderSpecifier<?>[] orderBy() {
+            return new OrderSpecifier<?>[]{member.id.asc()};
+        }
+
+        @Override
+        BooleanExpression from(PageAnchor anchor) {
+            return member.id.goe(anchor.getId());
+        }
+    },
+    ID_DESC {
+        @Override
+        OrderSpecifier<?>[] orderBy() {
+            return new OrderSpecifier<?>[]{member.id.desc()};
+        }
+
+        @Override
+        BooleanExpression from(PageAnchor anchor) {
+            return member.id.loe(anchor.getId());
+        }
+    },
+    AGE_ASC {
+        @Override
+        OrderSpecifier<?>[] orderBy() {
+            return new OrderSpecifier<?>[]{member.age.asc(), member.id.asc()};
+        }
+
+        @Override
+        BooleanExpression from(PageAnchor anchor) {
+            int age = (Integer) anchor.getSortValue();
+            return member.age.gt(age).or(member.age.eq(age).and(member.id.goe(anchor.getId())));
+        }
+
+        @Override
+        Object sortValue(MemberTeamDto row) {
+            return row.getAge();
+        }
+    },
+    AGE_DESC {
+        @Override
+        OrderSpecifier<?>[] orderBy() {
+            return new OrderSpecifier<?>[]{member.age.desc(), member.id.asc()};
+        }
+
+        @Override
+        BooleanExpression from(PageAnchor anchor) {
+            int age = (Integer) anchor.getSortValue();
+            return member.age.lt(age).or(member.age.eq(age).and(member.id.goe(anchor.getId())));
+        }
+
+        @Override
+        Object sortValue(MemberTeamDto row) {
+            return row.getAge();
+        }
+    };
+
+    abstract OrderSpecifier<?>[] orderBy();
+
+    // 앵커 행과 그 뒤의 행
+    abstract BooleanExpression from(PageAnchor anchor);
+
+    Object sortValue(MemberTeamDto row) {
+        return null;
+    }
+
+    PageAnchor anchorOf(MemberTeamDto row) {
+        return new PageAnchor(sortValue(row), row.getMemberId());
+    }
+
+    static MemberSeekOrder of(Sort sort) {
+        Sort.Order order = sort.stream().findFirst().orElse(null);
+        if (order == null || sort.stream().count() > 1) {
+            return ID_ASC;
+        }
+        switch (order.getProperty()) {
+            case "id":
+                return order.isAscending() ? ID_ASC : ID_DESC;
+            case "age":
+                return order.isAscending() ? AGE_ASC : AGE_DESC;
+            default:
+                return ID_ASC;
+        }
+    }
+}
@@ -4,23 +4,34 @@ import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.entity.Member;
+import study.querydsl.repository.support.OptimizedPredicate;
+import study.querydsl.repository.support.PredicateOptimizer;
 import study.querydsl.repository.support.Querydsl5RepositorySupport;
+import study.querydsl.repository.support.TeamNameDictionary;
 
+import java.util.Collections;
 import java.util.List;
 
 import static study.querydsl.entity.QMember.member;
-import static study.querydsl.entity.QTeam.team;
 
 @Repository
+@Transactional(readOnly = true)
 public class MemberTestRepository extends Querydsl5RepositorySupport {
-    public MemberTestRepository() {
+    private final PredicateOptimizer predicateOptimizer;
+    private final TeamNameDictionary teamNameDictionary;
+
+    public MemberTestRepository(PredicateOptimizer predicateOptimizer, TeamNameDictionary teamNameDictionary) {
         super(Member.class);
+        this.predicateOptimizer = predicateOptimizer;
+        this.teamNameDictionary = teamNameDictionary;
     }
 
     public List<Member> basicSelect() {
@@ -35,31 +46,42 @@ public class MemberTestRepository extends Querydsl5RepositorySupport {
     }
 
     public Page<Member> searchPageByApplyPage(MemberSearchCondition condition, Pageable pageabe) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return new PageImpl<>(Collections.emptyList(), pageabe, 0);
+        }
+
         JPAQuery<Member> query = selectFrom(member)
-                .leftJoin(member.team, team)
-                .where(searchBuilder(condition));
+                .where(predicate.getPredicate());
         List<Member> content = getQuerydsl().applyPagination(pageabe, query).fetch();
 
         return PageableExecutionUtils.getPage(content, pageabe, query::fetchCount);
     }
 
     public Page<Member> applyPagination(MemberSearchCondition condition, Pageable pageable) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
         return applyPagination(pageable, query ->
                 query.selectFrom(member)
-                        .leftJoin(member.team, team)
-                        .where(searchBuilder(condition)));
+                        .where(predicate.getPredicate()));
     }
 
     public Page<Member> applyPagination2(MemberSearchCondition condition, Pageable pageable) {
+        OptimizedPredicate predicate = predicateOptimizer.optimize(searchBuilder(condition));
+        if (predicate.isContradiction()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, 0);
+        }
+
         return applyPagination(pageable,
                 contentQuery -> contentQuery.selectFrom(member)
-                        .leftJoin(member.team, team)
-                        .where(searchBuilder(condition)),
+                        .where(predicate.getPredicate()),
                 countQuery -> countQuery
                         .select(member.count())
                         .from(member)
-                        .leftJoin(member.team, team)
-                        .where(searchBuilder(condition)));
+                        .where(predicate.getPredicate()));
     }
 
     private BooleanExpression ageBetween(int ageLoe, int ageGoe) {
@@ -71,7 +93,7 @@ public class MemberTestRepository extends Querydsl5RepositorySupport {
     }
 
     private BooleanExpression teamNameEq(String teamName) {
-        return StringUtils.hasText(teamName) ? team.name.eq(teamName) : null;
+        return teamNameDictionary.memberTeamNameEq(teamName);
     }
 
     private BooleanExpression ageGoe(Integer age) {
@@ -0,0 +1,158 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static study.querydsl.entity.QMember.member;
+
+/*
+ * H2 내장 전문 검색(org.h2.fulltext.FullText) 인덱스
+ * - member.username, team.name 을 단어 단위로 색인, 검색은 단어 일치(대소문자 무시, 여러 단어면 모두 포함)
+ *   like '%x%' 와 달리 단어 일부("mem")로는 찾지 못함
+ * - 인덱스는 H2 가 테이블에 거는 트리거(FT_MEMBER, FT_TEAM)가 갱신하므로 JPA, JDBC, 벌크 연산 모두 반영됨
+ * - ddl-auto: create 로 테이블이 다시 만들어지면 트리거가 사라지므로 시작 시 확인 후 다시 생성
+ * - 대량 적재(MemberCsvImporter, MemberDataSeeder)는 suspendMemberIndex 로 member 트리거를 내리고 끝난 뒤 한 번에 다시 색인
+ *   (행마다 트리거가 단어를 나눠 FT.MAP 에 넣는 비용 대신 전체 재색인 한 번, 그동안 검색은 like 로 대신함)
+ * 조회는 SqlFunctionContributor 의 ft_member_keys / ft_team_keys 를 Querydsl 템플릿으로 사용
+ */
+@Slf4j
+@Component
+// 스키마 생성(ddl-auto) 이후에 초기화
+@DependsOn("entityManagerFactory")
+public class FullTextIndex {
+    private static final String SCHEMA = "PUBLIC";
+    private static final String[][] INDEXES = {{"MEMBER", "USERNAME"}, {"TEAM", "NAME"}};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+
+    private volatile boolean available;
+    // 진행 중인 대량 적재 수
+    private final AtomicInteger suspended = new AtomicInteger();
+
+    public FullTextIndex(JdbcTemplate jdbcTemplate,
+                         @Value("${member.full-text.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (!"H2".equals(product)) {
+            log.info("full-text index not supported on {}, falling back to like", product);
+            return;
+        }
+
+        jdbcTemplate.execute("create alias if not exists FT_INIT for 'org.h2.fulltext.FullText.init'");
+        jdbcTemplate.execute("call FT_INIT()");
+        for (String[] index : INDEXES) {
+            ensureIndex(index[0], index[1]);
+        }
+        available = true;
+    }
+
+    // 인덱스 등록과 트리거가 모두 있으면 그대로 사용, 아니면 기존 행을 포함해 다시 색인
+    private void ensureIndex(String table, String column) {
+        Integer registered = jdbcTemplate.queryForObject(
+                "select count(*) from FT.INDEXES where \"SCHEMA\" = ? and \"TABLE\" = ? and \"COLUMNS\" = ?",
+                Integer.class, SCHEMA, table, column);
+        Integer triggers = jdbcTemplate.queryForObject(
+                "select count(*) from INFORMATION_SCHEMA.TRIGGERS where TRIGGER_SCHEMA = ? and TRIGGER_NAME = ?",
+                Integer.class, SCHEMA, "FT_" + table);
+        if (registered != null && registered > 0 && triggers != null && triggers > 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        jdbcTemplate.update("call FT_DROP_INDEX(?, ?)", SCHEMA, table);
+        jdbcTemplate.update("call FT_CREATE_INDEX(?, ?, ?)", SCHEMA, table, column);
+        log.info("full-text index {}.{} created in {}ms", table, column, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // false 면 ft_* 함수를 쓸 수 없음 (H2 가 아니거나 비활성화, 대량 적재 중)
+    public boolean isAvailable() {
+        return available && suspended.get() == 0;
+    }
+
+    // 기존 인덱스를 버리고 현재 행으로 다시 색인
+    public void reindex() {
+        for (String[] index : INDEXES) {
+            recreate(index[0], index[1]);
+        }
+    }
+
+    /*
+     * 닫을 때까지 member 인덱스 트리거를 내림, 여러 적재가 겹치면 마지막 적재가 끝날 때 다시 색인
+     * try (FullTextIndex.Suspension ignored = fullTextIndex.suspendMemberIndex()) { ... }
+     */
+    public synchronized Suspension suspendMemberIndex() {
+        if (available && suspended.getAndIncrement() == 0) {
+            jdbcTemplate.update("call FT_DROP_INDEX(?, ?)", SCHEMA, INDEXES[0][0]);
+        }
+        return new Suspension();
+    }
+
+    private synchronized void resumeMemberIndex() {
+        if (suspended.decrementAndGet() > 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        recreate(INDEXES[0][0], INDEXES[0][1]);
+        log.info("full-text index {}.{} rebuilt after bulk load in {}ms",
+                INDEXES[0][0], INDEXES[0][1], (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private synchronized void recreate(String table, String column) {
+        jdbcTemplate.update("call FT_DROP_INDEX(?, ?)", SCHEMA, table);
+        jdbcTemplate.update("call FT_CREATE_INDEX(?, ?, ?)", SCHEMA, table, column);
+    }
+
+    public class Suspension implements AutoCloseable {
+        private final boolean active = available;
+        private boolean closed;
+
+        private Suspension() {
+        }
+
+        @Override
+        public void close() {
+            if (!active || closed) {
+                return;
+            }
+            closed = true;
+            resumeMemberIndex();
+        }
+    }
+
+    /*
+     * username 에 text 의 단어가 모두 들어 있는 회원, text 가 비어 있으면 null (조건 없음)
+     * 예) where(usernameMatches("kim")) -> member_id in (select ... from FT_SEARCH_DATA('kim', 0, 0) ...)
+     */
+    public static BooleanExpression usernameMatches(String text) {
+        return StringUtils.hasText(text)
+                ? Expressions.booleanTemplate("{0} in (ft_member_keys({1}))", member.id, text)
+                : null;
+    }
+
+    // 팀 이름으로 검색, 팀 조인 없이 FK 로 비교
+    public static BooleanExpression teamNameMatches(String text) {
+        return StringUtils.hasText(text)
+                ? Expressions.booleanTemplate("{0} in (ft_team_keys({1}))", member.team.id, text)
+                : null;
+    }
+}
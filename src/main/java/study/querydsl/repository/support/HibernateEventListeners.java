@@ -0,0 +1,47 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.proxy.HibernateProxy;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManagerFactory;
+
+// Hibernate 이벤트 리스너를 스프링 빈에서 등록하기 위한 도우미
+public final class HibernateEventListeners {
+
+    private HibernateEventListeners() {
+    }
+
+    public static EventListenerRegistry registry(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+    }
+
+    @SafeVarargs
+    public static <T> void append(EntityManagerFactory entityManagerFactory, EventType<T> type, T... listeners) {
+        registry(entityManagerFactory).appendListeners(type, listeners);
+    }
+
+    public static int propertyIndex(String[] propertyNames, String propertyName) {
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (propertyNames[i].equals(propertyName)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("unknown property: " + propertyName);
+    }
+
+    // 프록시를 초기화하지 않고 팀 식별자를 꺼냄
+    public static Long teamIdOf(Object team) {
+        if (team == null) {
+            return null;
+        }
+        if (team instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) team).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Team) team).getId();
+    }
+}
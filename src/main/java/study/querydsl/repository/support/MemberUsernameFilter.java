@@ -0,0 +1,212 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import study.querydsl.changes.ChangeSequence;
+import study.querydsl.entity.Member;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/*
+ * 존재하지 않는 username 조회를 SQL 없이 걸러내는 Bloom filter
+ * - 시작 시 member 테이블 전체로 생성, 이후 insert/update 를 flush 시점에 반영
+ *   (커밋 전에 반영하므로 롤백되면 오탐만 늘어남, 누락은 없음)
+ * - 삭제는 반영할 수 없으므로 주기적으로 다시 만들어 교체
+ * - 현재 트랜잭션이 쓰는 중이면 걸러내지 않음 (PendingChanges, dirty checking 없이 판단)
+ * JDBC/벌크 연산으로 username 을 넣거나 바꾸는 코드는 put 을 직접 호출해야 함 (MemberCsvImporter)
+ */
+@Slf4j
+@Component
+public class MemberUsernameFilter implements PostInsertEventListener, PostUpdateEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeSequence changeSequence;
+
+    private final boolean enabled;
+    private final double fpp;
+    private final double growthFactor;
+    private final Duration recentWindow;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    // 재생성 중 스캔에 잡히지 않았을 수 있는 최근 추가분
+    private final Deque<RecentName> recent = new ConcurrentLinkedDeque<>();
+
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositive;
+
+    public MemberUsernameFilter(EntityManagerFactory entityManagerFactory,
+                                EntityManager em,
+                                JdbcTemplate jdbcTemplate,
+                                ChangeSequence changeSequence,
+                                MeterRegistry meterRegistry,
+                                @Value("${member.username-filter.enabled:true}") boolean enabled,
+                                @Value("${member.username-filter.fpp:0.01}") double fpp,
+                                @Value("${member.username-filter.growth-factor:2.0}") double growthFactor,
+                                @Value("${member.username-filter.recent-window:5m}") Duration recentWindow) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeSequence = changeSequence;
+        this.enabled = enabled;
+        this.fpp = fpp;
+        this.growthFactor = growthFactor;
+        this.recentWindow = recentWindow;
+
+        Gauge.builder("member.username-filter.fpp", this, filter -> filter.current == null ? 1 : filter.current.expectedFpp())
+                .register(meterRegistry);
+        Gauge.builder("member.username-filter.bytes", this, filter -> filter.current == null ? 0 : filter.current.byteSize())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        absent = lookupCounter(meterRegistry, "absent");
+        present = lookupCounter(meterRegistry, "present");
+        falsePositive = lookupCounter(meterRegistry, "false_positive");
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("member.username-filter.lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void register() {
+        if (enabled) {
+            HibernateEventListeners.append(entityManagerFactory, EventType.POST_INSERT, this);
+            HibernateEventListeners.append(entityManagerFactory, EventType.POST_UPDATE, this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    // true 면 해당 username 의 회원이 확실히 없음
+    public boolean isDefinitelyAbsent(String username) {
+        BloomFilter filter = current;
+        if (filter == null || username == null || filter.mightContain(username) || PendingChanges.exist(em, changeSequence)) {
+            return false;
+        }
+        absent.increment();
+        return true;
+    }
+
+    // 필터를 통과한 조회의 실제 결과, 없으면 오탐
+    public void recordLookup(boolean found) {
+        if (current == null) {
+            return;
+        }
+        (found ? present : falsePositive).increment();
+    }
+
+    public void put(String username) {
+        if (!enabled || username == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        recent.addLast(new RecentName(now, username));
+        RecentName oldest;
+        while ((oldest = recent.peekFirst()) != null && now - oldest.time > recentWindow.toNanos()) {
+            recent.pollFirst();
+        }
+
+        // building 을 먼저 읽음: rebuild 는 current 를 바꾼 뒤 building 을 비우므로
+        // building 이 비어 있으면 current 는 이미 새 필터, 아니면 building 이 곧 새 필터
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(username);
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(username);
+        }
+    }
+
+    /*
+     * 새 필터를 만들어 교체
+     * 스캔 중 추가된 username 은 building 으로 바로 들어가고,
+     * 스캔 직전에 flush 됐지만 아직 커밋되지 않아 스캔에서 빠졌을 수 있는 것은 recent 에서 다시 넣음
+     * (recent-window 보다 오래 열려 있는 트랜잭션의 insert 는 누락될 수 있음)
+     */
+    @Scheduled(initialDelayString = "${member.username-filter.rebuild-interval:PT10M}",
+            fixedDelayString = "${member.username-filter.rebuild-interval:PT10M}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Long count = jdbcTemplate.queryForObject("select count(*) from member", Long.class);
+        BloomFilter next = new BloomFilter(Math.max(1024, (long) (count * growthFactor)), fpp);
+        building = next;
+        try {
+            jdbcTemplate.query("select username from member where username is not null",
+                    rs -> {
+                        next.put(rs.getString(1));
+                    });
+            long since = start - recentWindow.toNanos();
+            for (RecentName name : recent) {
+                if (name.time - since >= 0) {
+                    next.put(name.username);
+                }
+            }
+            current = next;
+        } finally {
+            building = null;
+        }
+        log.info("username filter rebuilt: {} members, {} bytes, {} hashes, {}ms",
+                count, next.byteSize(), next.hashCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            put(((Member) event.getEntity()).getUsername());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member) {
+            put(((Member) event.getEntity()).getUsername());
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private static class RecentName {
+        private final long time;
+        private final String username;
+
+        RecentName(long time, String username) {
+            this.time = time;
+            this.username = username;
+        }
+    }
+}
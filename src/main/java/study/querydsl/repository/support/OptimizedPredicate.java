@@ -0,0 +1,25 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Predicate;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class OptimizedPredicate {
+    private static final OptimizedPredicate CONTRADICTION = new OptimizedPredicate(null, true);
+
+    // null 이면 조건 없음 (where 절에서 무시됨)
+    private final Predicate predicate;
+    // true 면 결과가 항상 비어 있으므로 쿼리를 실행할 필요가 없음
+    private final boolean contradiction;
+
+    public static OptimizedPredicate of(Predicate predicate) {
+        return new OptimizedPredicate(predicate, false);
+    }
+
+    public static OptimizedPredicate contradiction() {
+        return CONTRADICTION;
+    }
+}
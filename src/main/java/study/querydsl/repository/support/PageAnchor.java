@@ -0,0 +1,10 @@
+package study.querydsl.repository.support;
+
+import lombok.Data;
+
+// 정렬 순서상 특정 위치(offset)에 있던 행의 정렬 키와 id
+@Data
+public class PageAnchor {
+    private final Object sortValue;
+    private final long id;
+}
@@ -0,0 +1,174 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.changes.ChangeSequence;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/*
+ * 깊은 offset 페이지를 위한 앵커 캐시
+ * 페이지를 응답할 때 interval 행마다 그 위치의 (정렬 키, id) 를 (조건, 정렬) 별로 기록하고,
+ * 이후 깊은 페이지 요청은 가장 가까운 앞쪽 앵커부터 seek + 작은 offset 으로 바꿈
+ *
+ * - 앵커는 기록할 때의 데이터 버전(ChangeSequence.version)과 DB 상태(Fingerprint)에 묶이며 어느 쪽이든 바뀌면 버려짐
+ *   version 은 이 프로세스에서 창(ChangeSequence.Window)을 거친 쓰기만 알 수 있으므로,
+ *   touch 하지 않은 벌크 삭제, 다른 노드, SQL 로 직접 한 변경은 Fingerprint(조건별 건수, 최대 change_seq)로 확인
+ *   change_seq 도 건수도 바꾸지 않는 변경(touch 없는 벌크 update)은 감지하지 못함
+ * - 전체 앵커 수는 max-anchors 로 제한, 넘으면 가장 오래 사용하지 않은 (조건, 정렬) 부터 버림
+ * - 기록하는 쪽은 커밋되지 않은 변경이 보이는 트랜잭션에서 기록하면 안 됨 (다른 요청과 위치가 달라짐)
+ */
+@Component
+public class PageAnchorCache {
+    private final LongSupplier version;
+    private final int interval;
+    private final int maxAnchors;
+
+    // 접근 순서 유지 (LRU)
+    private final LinkedHashMap<Object, Anchors> anchors = new LinkedHashMap<>(16, 0.75f, true);
+    private int size;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    @Autowired
+    public PageAnchorCache(ChangeSequence changeSequence, MeterRegistry meterRegistry,
+                           @Value("${member.page-anchor.interval:1000}") int interval,
+                           @Value("${member.page-anchor.max-anchors:100000}") int maxAnchors) {
+        this(changeSequence::version, meterRegistry, interval, maxAnchors);
+    }
+
+    PageAnchorCache(LongSupplier version, MeterRegistry meterRegistry, int interval, int maxAnchors) {
+        this.version = version;
+        this.interval = interval;
+        this.maxAnchors = maxAnchors;
+        this.hits = meterRegistry.counter("member.page-anchor.seeks", "result", "hit");
+        this.misses = meterRegistry.counter("member.page-anchor.seeks", "result", "miss");
+        meterRegistry.gauge("member.page-anchor.size", this, PageAnchorCache::size);
+    }
+
+    public long version() {
+        return version.getAsLong();
+    }
+
+    // 이 범위를 조회할 때 앵커를 쓰거나 기록할 수 있음 (Fingerprint 를 구할 필요가 있음)
+    public boolean covers(long offset, int pageSize) {
+        return offset + pageSize > interval;
+    }
+
+    // offset 보다 앞에 있는 가장 가까운 앵커, 첫 앵커보다 앞이면 null
+    public synchronized Seek seek(Object key, long offset, Fingerprint fingerprint) {
+        if (offset < interval) {
+            return null;
+        }
+        Anchors current = current(key, fingerprint);
+        Map.Entry<Long, PageAnchor> floor = current == null ? null : current.byPosition.floorEntry(offset);
+        if (floor == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return new Seek(floor.getKey(), floor.getValue());
+    }
+
+    // rows 는 정렬 순서상 offset 위치부터의 행, version 과 fingerprint 는 조회를 시작하기 전에 읽은 값
+    public <T> void record(Object key, long version, Fingerprint fingerprint, long offset, List<T> rows,
+                           Function<T, PageAnchor> anchorOf) {
+        long first = (offset + interval - 1) / interval * interval;
+        if (first == 0) {
+            first = interval;
+        }
+        if (first - offset >= rows.size()) {
+            return;
+        }
+        synchronized (this) {
+            Anchors current = anchors.get(key);
+            if (current != null && current.version > version) {
+                // 조회하는 사이 데이터가 바뀜
+                return;
+            }
+            if (current == null || current.version < version || !current.fingerprint.equals(fingerprint)) {
+                remove(key);
+                current = new Anchors(version, fingerprint);
+                anchors.put(key, current);
+            }
+            for (long position = first; position - offset < rows.size(); position += interval) {
+                PageAnchor anchor = anchorOf.apply(rows.get((int) (position - offset)));
+                if (current.byPosition.put(position, anchor) == null) {
+                    size++;
+                }
+            }
+            evict(key);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private Anchors current(Object key, Fingerprint fingerprint) {
+        Anchors current = anchors.get(key);
+        if (current != null && (current.version != version() || !current.fingerprint.equals(fingerprint))) {
+            remove(key);
+            return null;
+        }
+        return current;
+    }
+
+    private void remove(Object key) {
+        Anchors removed = anchors.remove(key);
+        if (removed != null) {
+            size -= removed.byPosition.size();
+        }
+    }
+
+    private void evict(Object recent) {
+        Iterator<Map.Entry<Object, Anchors>> iterator = anchors.entrySet().iterator();
+        while (size > maxAnchors && iterator.hasNext()) {
+            Map.Entry<Object, Anchors> eldest = iterator.next();
+            if (eldest.getKey().equals(recent) && anchors.size() > 1) {
+                continue;
+            }
+            size -= eldest.getValue().byPosition.size();
+            iterator.remove();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Seek {
+        // 앵커 행의 위치 (이 행부터 seek)
+        private final long position;
+        private final PageAnchor anchor;
+    }
+
+    // 조건에 맞는 행 수와 그 행들의 최대 change_seq, 행이 없으면 maxChangeSeq 는 null
+    @Value
+    public static class Fingerprint {
+        long rowCount;
+        Long maxChangeSeq;
+    }
+
+    private static class Anchors {
+        private final long version;
+        private final Fingerprint fingerprint;
+        private final TreeMap<Long, PageAnchor> byPosition = new TreeMap<>();
+
+        Anchors(long version, Fingerprint fingerprint) {
+            this.version = version;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.changes.ChangeSequence;
+
+import javax.persistence.EntityManager;
+
+/*
+ * 현재 트랜잭션이 member/team 을 쓰고 있는지
+ * - 이미 flush 한 쓰기: 변경 순번 창이 열려 있음
+ * - 아직 flush 하지 않은 persist/remove 등: 세션의 action queue
+ * Session.isDirty() 는 영속성 컨텍스트 전체를 dirty checking 하므로 조회 경로에서는 쓰지 않음
+ * (flush 전 필드 변경만 있는 경우는 놓치며, 다음 flush 이후부터 반영됨)
+ */
+final class PendingChanges {
+
+    private PendingChanges() {
+    }
+
+    static boolean exist(EntityManager em, ChangeSequence changeSequence) {
+        return changeSequence.isWritingInTransaction()
+                || TransactionSynchronizationManager.isActualTransactionActive()
+                && em.unwrap(SessionImplementor.class).getActionQueue().hasAnyQueuedActions();
+    }
+}
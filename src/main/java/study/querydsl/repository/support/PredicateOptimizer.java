@@ -0,0 +1,377 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.ConstantImpl;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.TemplateExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * BooleanBuilder 로 조립된 Predicate 를 실행 전에 정리
+ * - 상수 접기 (true 는 제거, false 는 모순)
+ * - 같은 경로에 대한 범위 조건 병합 (age >= 10 and age >= 20 -> age >= 20)
+ * - 모순 검출 (age >= 30 and age <= 20) -> 쿼리를 실행하지 않고 빈 결과
+ */
+@Component
+public class PredicateOptimizer {
+    private static final Constant<Boolean> TRUE = ConstantImpl.create(true);
+    private static final Constant<Boolean> FALSE = ConstantImpl.create(false);
+
+    private final Map<PredicateRewrite, Counter> counters = new EnumMap<>(PredicateRewrite.class);
+
+    public PredicateOptimizer(MeterRegistry meterRegistry) {
+        for (PredicateRewrite rewrite : PredicateRewrite.values()) {
+            counters.put(rewrite, Counter.builder("querydsl.predicate.rewrites")
+                    .description("Number of predicate rewrites applied before query execution")
+                    .tag("rewrite", rewrite.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public OptimizedPredicate optimize(Predicate predicate) {
+        Expression<?> simplified = simplify(ExpressionUtils.extract(predicate));
+        if (simplified == null || simplified == TRUE) {
+            return OptimizedPredicate.of(null);
+        }
+        if (simplified == FALSE) {
+            increment(PredicateRewrite.CONTRADICTION);
+            return OptimizedPredicate.contradiction();
+        }
+        return OptimizedPredicate.of(asPredicate(simplified));
+    }
+
+    public double getRewriteCount(PredicateRewrite rewrite) {
+        return counters.get(rewrite).count();
+    }
+
+    private Expression<?> simplify(Expression<?> expr) {
+        if (expr == null) {
+            return null;
+        }
+        if (expr instanceof Constant && ((Constant<?>) expr).getConstant() instanceof Boolean) {
+            return (Boolean) ((Constant<?>) expr).getConstant() ? TRUE : FALSE;
+        }
+        // Expressions.TRUE, Expressions.FALSE 는 상수가 아닌 템플릿으로 표현됨
+        if (expr instanceof TemplateExpression && ((TemplateExpression<?>) expr).getArgs().isEmpty()) {
+            String template = ((TemplateExpression<?>) expr).getTemplate().toString();
+            if ("true".equals(template)) {
+                return TRUE;
+            }
+            if ("false".equals(template)) {
+                return FALSE;
+            }
+        }
+        if (!(expr instanceof Operation)) {
+            return expr;
+        }
+        Operation<?> operation = (Operation<?>) expr;
+        if (operation.getOperator() == Ops.AND) {
+            return simplifyAnd(operation);
+        }
+        if (operation.getOperator() == Ops.OR) {
+            return simplifyOr(operation);
+        }
+        return foldConstantComparison(operation);
+    }
+
+    private Expression<?> simplifyOr(Operation<?> operation) {
+        List<Predicate> disjuncts = new ArrayList<>();
+        for (Expression<?> arg : operation.getArgs()) {
+            Expression<?> simplified = simplify(ExpressionUtils.extract(arg));
+            if (simplified == TRUE) {
+                increment(PredicateRewrite.CONSTANT_FOLDED);
+                return TRUE;
+            }
+            if (simplified == FALSE) {
+                increment(PredicateRewrite.CONSTANT_FOLDED);
+                continue;
+            }
+            disjuncts.add(asPredicate(simplified));
+        }
+        return disjuncts.isEmpty() ? FALSE : ExpressionUtils.anyOf(disjuncts);
+    }
+
+    private Expression<?> simplifyAnd(Operation<?> operation) {
+        List<Expression<?>> conjuncts = new ArrayList<>();
+        flattenAnd(operation, conjuncts);
+
+        // 경로별 범위 조건은 처음 등장한 위치에 다시 배치해 원래 순서를 유지
+        Map<Object, Range> ranges = new LinkedHashMap<>();
+        Set<Object> ordered = new LinkedHashSet<>();
+        for (Expression<?> conjunct : conjuncts) {
+            Expression<?> simplified = simplify(conjunct);
+            if (simplified == TRUE) {
+                increment(PredicateRewrite.CONSTANT_FOLDED);
+                continue;
+            }
+            if (simplified == FALSE) {
+                increment(PredicateRewrite.CONSTANT_FOLDED);
+                return FALSE;
+            }
+            Bound bound = Bound.of(simplified);
+            if (bound != null) {
+                Range range = ranges.get(bound.path);
+                if (range == null) {
+                    range = new Range(bound.path);
+                    ranges.put(bound.path, range);
+                    ordered.add(range);
+                } else if (!range.accepts(bound)) {
+                    ordered.add(simplified);
+                    continue;
+                }
+                if (!range.add(bound)) {
+                    return FALSE;
+                }
+                continue;
+            }
+            if (!ordered.add(simplified)) {
+                increment(PredicateRewrite.DUPLICATE_REMOVED);
+            }
+        }
+
+        List<Predicate> predicates = new ArrayList<>();
+        for (Object item : ordered) {
+            if (item instanceof Range) {
+                List<Predicate> bounds = ((Range) item).toPredicates();
+                if (bounds == null) {
+                    return FALSE;
+                }
+                predicates.addAll(bounds);
+            } else {
+                predicates.add(asPredicate((Expression<?>) item));
+            }
+        }
+        return predicates.isEmpty() ? TRUE : ExpressionUtils.allOf(predicates);
+    }
+
+    private void flattenAnd(Expression<?> expr, List<Expression<?>> conjuncts) {
+        Expression<?> extracted = ExpressionUtils.extract(expr);
+        if (extracted instanceof Operation && ((Operation<?>) extracted).getOperator() == Ops.AND) {
+            for (Expression<?> arg : ((Operation<?>) extracted).getArgs()) {
+                flattenAnd(arg, conjuncts);
+            }
+        } else if (extracted != null) {
+            conjuncts.add(extracted);
+        }
+    }
+
+    // 양쪽이 모두 상수인 비교식은 미리 계산 (ex. 1 = 1)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Expression<?> foldConstantComparison(Operation<?> operation) {
+        if (operation.getArgs().size() != 2 || !Bound.isComparison(operation.getOperator())) {
+            return operation;
+        }
+        Object left = constantValue(operation.getArg(0));
+        Object right = constantValue(operation.getArg(1));
+        if (!(left instanceof Comparable) || right == null || left.getClass() != right.getClass()) {
+            return operation;
+        }
+        int compared = ((Comparable) left).compareTo(right);
+        boolean result;
+        Operator operator = operation.getOperator();
+        if (operator == Ops.EQ) {
+            result = compared == 0;
+        } else if (operator == Ops.NE) {
+            result = compared != 0;
+        } else if (operator == Ops.GOE) {
+            result = compared >= 0;
+        } else if (operator == Ops.GT) {
+            result = compared > 0;
+        } else if (operator == Ops.LOE) {
+            result = compared <= 0;
+        } else {
+            result = compared < 0;
+        }
+        increment(PredicateRewrite.CONSTANT_FOLDED);
+        return result ? TRUE : FALSE;
+    }
+
+    private void increment(PredicateRewrite rewrite) {
+        counters.get(rewrite).increment();
+    }
+
+    private static Object constantValue(Expression<?> expr) {
+        Expression<?> extracted = ExpressionUtils.extract(expr);
+        return extracted instanceof Constant ? ((Constant<?>) extracted).getConstant() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate asPredicate(Expression<?> expr) {
+        return expr instanceof Predicate ? (Predicate) expr : Expressions.asBoolean((Expression<Boolean>) expr);
+    }
+
+    // path (op) constant 형태의 단일 조건
+    private static class Bound {
+        private final Path<?> path;
+        private final Operator operator;
+        private final Expression<?> constant;
+        private final Comparable<Object> value;
+
+        @SuppressWarnings("unchecked")
+        private Bound(Path<?> path, Operator operator, Expression<?> constant) {
+            this.path = path;
+            this.operator = operator;
+            this.constant = constant;
+            this.value = (Comparable<Object>) ((Constant<?>) constant).getConstant();
+        }
+
+        static boolean isComparison(Operator operator) {
+            return operator == Ops.EQ || operator == Ops.NE || operator == Ops.GOE
+                    || operator == Ops.GT || operator == Ops.LOE || operator == Ops.LT;
+        }
+
+        static Bound of(Expression<?> expr) {
+            if (!(expr instanceof Operation)) {
+                return null;
+            }
+            Operation<?> operation = (Operation<?>) expr;
+            Operator operator = operation.getOperator();
+            if (!isComparison(operator) || operator == Ops.NE || operation.getArgs().size() != 2) {
+                return null;
+            }
+            Expression<?> left = ExpressionUtils.extract(operation.getArg(0));
+            Expression<?> right = ExpressionUtils.extract(operation.getArg(1));
+            if (!(left instanceof Path) || !(right instanceof Constant)
+                    || !(((Constant<?>) right).getConstant() instanceof Comparable)) {
+                return null;
+            }
+            return new Bound((Path<?>) left, operator, right);
+        }
+
+        boolean isLower() {
+            return operator == Ops.GOE || operator == Ops.GT;
+        }
+
+        boolean isInclusive() {
+            return operator == Ops.GOE || operator == Ops.LOE || operator == Ops.EQ;
+        }
+
+        boolean sameAs(Bound other) {
+            return operator == other.operator && value.compareTo(other.value) == 0;
+        }
+
+        Predicate toPredicate() {
+            return ExpressionUtils.predicate(operator, path, constant);
+        }
+    }
+
+    // 한 경로에 걸린 하한/상한/동등 조건을 하나로 병합
+    private class Range {
+        private final Path<?> path;
+        private Class<?> valueType;
+        private Bound lower;
+        private Bound upper;
+        private Bound equal;
+
+        Range(Path<?> path) {
+            this.path = path;
+        }
+
+        boolean accepts(Bound bound) {
+            return valueType == null || valueType == bound.value.getClass();
+        }
+
+        // false 면 모순
+        boolean add(Bound bound) {
+            valueType = bound.value.getClass();
+            if (bound.operator == Ops.EQ) {
+                if (equal != null) {
+                    if (equal.value.compareTo(bound.value) != 0) {
+                        return false;
+                    }
+                    increment(PredicateRewrite.DUPLICATE_REMOVED);
+                    return true;
+                }
+                equal = bound;
+                return true;
+            }
+            if (bound.isLower()) {
+                if (lower != null) {
+                    increment(lower.sameAs(bound) ? PredicateRewrite.DUPLICATE_REMOVED : PredicateRewrite.RANGE_MERGED);
+                }
+                lower = tighter(lower, bound, true);
+            } else {
+                if (upper != null) {
+                    increment(upper.sameAs(bound) ? PredicateRewrite.DUPLICATE_REMOVED : PredicateRewrite.RANGE_MERGED);
+                }
+                upper = tighter(upper, bound, false);
+            }
+            return true;
+        }
+
+        private Bound tighter(Bound current, Bound candidate, boolean lowerSide) {
+            if (current == null) {
+                return candidate;
+            }
+            int compared = candidate.value.compareTo(current.value);
+            if (compared == 0) {
+                return candidate.isInclusive() ? current : candidate;
+            }
+            return (compared > 0) == lowerSide ? candidate : current;
+        }
+
+        // null 이면 모순
+        List<Predicate> toPredicates() {
+            List<Predicate> predicates = new ArrayList<>();
+            if (equal != null) {
+                if (!contains(equal.value)) {
+                    return null;
+                }
+                if (lower != null || upper != null) {
+                    increment(PredicateRewrite.RANGE_MERGED);
+                }
+                predicates.add(equal.toPredicate());
+                return predicates;
+            }
+            if (lower != null && upper != null) {
+                int compared = lower.value.compareTo(upper.value);
+                if (compared > 0 || (compared == 0 && !(lower.isInclusive() && upper.isInclusive()))) {
+                    return null;
+                }
+                if (compared == 0) {
+                    increment(PredicateRewrite.RANGE_TO_EQUALITY);
+                    predicates.add(ExpressionUtils.predicate(Ops.EQ, path, lower.constant));
+                    return predicates;
+                }
+            }
+            if (lower != null) {
+                predicates.add(lower.toPredicate());
+            }
+            if (upper != null) {
+                predicates.add(upper.toPredicate());
+            }
+            return predicates;
+        }
+
+        private boolean contains(Comparable<Object> value) {
+            if (lower != null) {
+                int compared = value.compareTo(lower.value);
+                if (compared < 0 || (compared == 0 && !lower.isInclusive())) {
+                    return false;
+                }
+            }
+            if (upper != null) {
+                int compared = value.compareTo(upper.value);
+                return compared < 0 || (compared == 0 && upper.isInclusive());
+            }
+            return true;
+        }
+    }
+}
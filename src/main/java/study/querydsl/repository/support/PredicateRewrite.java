@@ -0,0 +1,10 @@
+package study.querydsl.repository.support;
+
+// PredicateOptimizer 가 적용하는 재작성 종류 (메트릭 태그로 사용)
+public enum PredicateRewrite {
+    CONSTANT_FOLDED,
+    DUPLICATE_REMOVED,
+    RANGE_MERGED,
+    RANGE_TO_EQUALITY,
+    CONTRADICTION
+}
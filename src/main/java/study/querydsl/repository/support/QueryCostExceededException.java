@@ -0,0 +1,15 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@Getter
+public class QueryCostExceededException extends ResponseStatusException {
+    private final QueryCostRejection rejection;
+
+    public QueryCostExceededException(QueryCostRejection rejection, String reason) {
+        super(HttpStatus.BAD_REQUEST, reason);
+        this.rejection = rejection;
+    }
+}
@@ -0,0 +1,287 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Operator;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.PathMetadata;
+import com.querydsl.core.types.PathType;
+import com.querydsl.core.types.Predicate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * 외부에서 조립된 Predicate/Pageable 을 실행 전에 검사 (QuerydslPredicateExecutor 용)
+ * - 인덱스 메타데이터와 행 수로 읽을 행 수를 추정해 예산을 넘으면 거부
+ * - offset 이 너무 크면 거부
+ * - 페이지 크기는 max-page-size 로 줄임 (페이지 번호는 유지)
+ *
+ * 추정은 단순한 고정 선택도 기반이며 DB 의 실행 계획과 다를 수 있음
+ * 인덱스 선두 컬럼에 대한 동등/범위/접두사 조건만 탐색 범위를 줄인다고 보고, 나머지는 필터로 취급
+ */
+@Component
+public class QueryCostGuard {
+    private static final double EQ_SELECTIVITY = 0.05;
+    private static final double PREFIX_SELECTIVITY = 0.1;
+    private static final double RANGE_SELECTIVITY = 0.3;
+
+    // 인덱스를 쓸 수 없는 패턴 검색 (접두사 like 는 selectivity 에서 따로 판단)
+    private static final Set<Ops> PATTERN_OPS = EnumSet.of(
+            Ops.LIKE, Ops.LIKE_IC, Ops.LIKE_ESCAPE, Ops.LIKE_ESCAPE_IC, Ops.MATCHES, Ops.MATCHES_IC,
+            Ops.STRING_CONTAINS, Ops.STRING_CONTAINS_IC, Ops.ENDS_WITH, Ops.ENDS_WITH_IC, Ops.STARTS_WITH_IC);
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final TableStatistics statistics;
+    private final long maxScannedRows;
+    private final long maxOffset;
+    private final int maxPageSize;
+
+    private final Map<QueryCostRejection, Counter> rejections = new EnumMap<>(QueryCostRejection.class);
+    private final Counter pageSizeRewrites;
+
+    public QueryCostGuard(EntityManagerFactory entityManagerFactory, TableStatistics statistics, MeterRegistry meterRegistry,
+                          @Value("${member.cost-guard.max-scanned-rows:100000}") long maxScannedRows,
+                          @Value("${member.cost-guard.max-offset:10000}") long maxOffset,
+                          @Value("${member.cost-guard.max-page-size:100}") int maxPageSize) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = statistics;
+        this.maxScannedRows = maxScannedRows;
+        this.maxOffset = maxOffset;
+        this.maxPageSize = maxPageSize;
+        for (QueryCostRejection rejection : QueryCostRejection.values()) {
+            rejections.put(rejection, Counter.builder("querydsl.cost-guard.rejections")
+                    .description("Number of queries rejected before execution")
+                    .tag("reason", rejection.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.pageSizeRewrites = Counter.builder("querydsl.cost-guard.rewrites")
+                .description("Number of pageables rewritten before execution")
+                .tag("rewrite", "page_size")
+                .register(meterRegistry);
+    }
+
+    // 실행해도 되는 Pageable 을 반환, 예산을 넘으면 QueryCostExceededException
+    public Pageable check(Class<?> rootType, Predicate predicate, Pageable pageable) {
+        Pageable checked = limitPageSize(pageable);
+        if (checked.getOffset() > maxOffset) {
+            throw reject(QueryCostRejection.OFFSET, "offset too large: " + checked.getOffset() + " > " + maxOffset);
+        }
+
+        Estimate estimate = estimate(rootType, predicate);
+        if (estimate.scannedRows > maxScannedRows) {
+            throw reject(estimate.unindexedPattern ? QueryCostRejection.UNINDEXED_LIKE : QueryCostRejection.FULL_SCAN,
+                    "estimated rows scanned too large: " + estimate.scannedRows + " > " + maxScannedRows);
+        }
+        return checked;
+    }
+
+    public double getRejectionCount(QueryCostRejection rejection) {
+        return rejections.get(rejection).count();
+    }
+
+    private Pageable limitPageSize(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            pageSizeRewrites.increment();
+            return PageRequest.of(0, maxPageSize, pageable.getSort());
+        }
+        if (pageable.getPageSize() > maxPageSize) {
+            pageSizeRewrites.increment();
+            return PageRequest.of(pageable.getPageNumber(), maxPageSize, pageable.getSort());
+        }
+        return pageable;
+    }
+
+    private QueryCostExceededException reject(QueryCostRejection rejection, String reason) {
+        rejections.get(rejection).increment();
+        return new QueryCostExceededException(rejection, reason);
+    }
+
+    Estimate estimate(Class<?> rootType, Predicate predicate) {
+        AbstractEntityPersister root = persister(rootType);
+        if (root == null) {
+            throw new IllegalArgumentException("not an entity: " + rootType);
+        }
+        Estimate estimate = new Estimate();
+        Expression<?> expr = predicate == null ? null : ExpressionUtils.extract(predicate);
+        double selectivity = expr == null ? 1.0 : selectivity(expr, estimate);
+        long rootRows = statistics.get(root.getTableName()).getRowCount();
+        estimate.scannedRows = (long) Math.ceil(rootRows * selectivity) + estimate.joinedRows;
+        return estimate;
+    }
+
+    private double selectivity(Expression<?> expr, Estimate estimate) {
+        if (!(expr instanceof Operation)) {
+            return 1.0;
+        }
+        Operation<?> operation = (Operation<?>) expr;
+        Operator operator = operation.getOperator();
+        if (operator == Ops.AND) {
+            // 가장 좁은 조건으로 탐색하고 나머지는 필터
+            double selectivity = 1.0;
+            for (Expression<?> arg : operation.getArgs()) {
+                selectivity = Math.min(selectivity, selectivity(ExpressionUtils.extract(arg), estimate));
+            }
+            return selectivity;
+        }
+        if (operator == Ops.OR) {
+            // 모든 분기가 인덱스를 탈 때만 범위가 줄어듦
+            double selectivity = 0;
+            for (Expression<?> arg : operation.getArgs()) {
+                selectivity += selectivity(ExpressionUtils.extract(arg), estimate);
+            }
+            return Math.min(1.0, selectivity);
+        }
+        if (operator == Ops.NOT) {
+            selectivity(ExpressionUtils.extract(operation.getArg(0)), estimate);
+            return 1.0;
+        }
+        return conditionSelectivity(operation, estimate);
+    }
+
+    private double conditionSelectivity(Operation<?> operation, Estimate estimate) {
+        Expression<?> left = ExpressionUtils.extract(operation.getArg(0));
+        Column column = left instanceof Path ? resolve((Path<?>) left) : null;
+        if (column == null) {
+            return 1.0;
+        }
+        TableStatistics.Table table = statistics.get(column.table);
+        boolean indexed = table.isIndexed(column.name);
+        double selectivity = operatorSelectivity(operation, table.isUnique(column.name), table.getRowCount());
+        if (PATTERN_OPS.contains(operation.getOperator()) && (!indexed || selectivity < 0)) {
+            estimate.unindexedPattern = true;
+        }
+        if (column.joined) {
+            // 조인 테이블을 읽은 뒤 FK 인덱스로 root 행을 찾음
+            boolean seek = indexed && selectivity >= 0;
+            estimate.joinedRows += seek ? (long) Math.ceil(table.getRowCount() * selectivity) : table.getRowCount();
+            return selectivity >= 0 ? selectivity : 1.0;
+        }
+        return indexed && selectivity >= 0 ? selectivity : 1.0;
+    }
+
+    // 인덱스로 범위를 좁힐 수 없는 연산자는 -1
+    private static double operatorSelectivity(Operation<?> operation, boolean unique, long rows) {
+        Operator operator = operation.getOperator();
+        if (operator == Ops.EQ || operator == Ops.IS_NULL) {
+            return unique && operator == Ops.EQ ? 1.0 / Math.max(rows, 1) : EQ_SELECTIVITY;
+        }
+        if (operator == Ops.IN) {
+            Expression<?> right = ExpressionUtils.extract(operation.getArg(1));
+            Object values = right instanceof Constant ? ((Constant<?>) right).getConstant() : null;
+            int size = values instanceof Collection ? ((Collection<?>) values).size() : 1;
+            double eq = unique ? 1.0 / Math.max(rows, 1) : EQ_SELECTIVITY;
+            return Math.min(1.0, size * eq);
+        }
+        if (operator == Ops.BETWEEN || operator == Ops.GOE || operator == Ops.GT
+                || operator == Ops.LOE || operator == Ops.LT) {
+            return RANGE_SELECTIVITY;
+        }
+        if (operator == Ops.STARTS_WITH) {
+            return PREFIX_SELECTIVITY;
+        }
+        if (operator == Ops.LIKE || operator == Ops.LIKE_ESCAPE) {
+            Expression<?> right = ExpressionUtils.extract(operation.getArg(1));
+            Object pattern = right instanceof Constant ? ((Constant<?>) right).getConstant() : null;
+            if (pattern instanceof String && !((String) pattern).isEmpty()
+                    && ((String) pattern).charAt(0) != '%' && ((String) pattern).charAt(0) != '_') {
+                return PREFIX_SELECTIVITY;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * member.age -> member 테이블 age 컬럼
+     * member.team.id -> member 테이블 team_id 컬럼 (FK, 조인 없음)
+     * member.team.name -> team 테이블 name 컬럼 (조인)
+     * 그보다 깊은 경로는 추정하지 않음
+     */
+    private Column resolve(Path<?> path) {
+        PathMetadata metadata = path.getMetadata();
+        Path<?> parent = metadata.getParent();
+        if (parent == null || metadata.getPathType() != PathType.PROPERTY) {
+            return null;
+        }
+        if (parent.getMetadata().isRoot()) {
+            return column(parent.getType(), metadata.getName(), false);
+        }
+        Path<?> grandParent = parent.getMetadata().getParent();
+        if (grandParent == null || !grandParent.getMetadata().isRoot()
+                || parent.getMetadata().getPathType() != PathType.PROPERTY) {
+            return null;
+        }
+        AbstractEntityPersister target = persister(parent.getType());
+        if (target == null) {
+            return null;
+        }
+        if (metadata.getName().equals(target.getIdentifierPropertyName())) {
+            return column(grandParent.getType(), parent.getMetadata().getName(), false);
+        }
+        return column(parent.getType(), metadata.getName(), true);
+    }
+
+    private Column column(Class<?> type, String property, boolean joined) {
+        AbstractEntityPersister persister = persister(type);
+        if (persister == null) {
+            return null;
+        }
+        String[] columns;
+        try {
+            columns = property.equals(persister.getIdentifierPropertyName())
+                    ? persister.getIdentifierColumnNames()
+                    : persister.getPropertyColumnNames(property);
+        } catch (HibernateException e) {
+            return null;
+        }
+        if (columns == null || columns.length == 0) {
+            return null;
+        }
+        return new Column(persister.getTableName(), columns[0].toLowerCase(Locale.ROOT), joined);
+    }
+
+    private AbstractEntityPersister persister(Class<?> type) {
+        try {
+            EntityPersister persister = sessionFactory.getMetamodel().entityPersister(type);
+            return persister instanceof AbstractEntityPersister ? (AbstractEntityPersister) persister : null;
+        } catch (HibernateException e) {
+            return null;
+        }
+    }
+
+    static class Estimate {
+        long scannedRows;
+        long joinedRows;
+        boolean unindexedPattern;
+    }
+
+    private static class Column {
+        private final String table;
+        private final String name;
+        private final boolean joined;
+
+        Column(String table, String name, boolean joined) {
+            this.table = table;
+            this.name = name;
+            this.joined = joined;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package study.querydsl.repository.support;
+
+// QueryCostGuard 가 쿼리를 거부한 이유 (메트릭 태그로 사용)
+public enum QueryCostRejection {
+    OFFSET,
+    FULL_SCAN,
+    UNINDEXED_LIKE
+}
@@ -0,0 +1,29 @@
+package study.querydsl.repository.support;
+
+import org.hibernate.boot.MetadataBuilder;
+import org.hibernate.boot.spi.MetadataBuilderContributor;
+import org.hibernate.dialect.function.SQLFunctionTemplate;
+import org.hibernate.type.StandardBasicTypes;
+
+/*
+ * JPQL/Querydsl 에서 쓸 SQL 함수 등록
+ * spring.jpa.properties.hibernate.metadata_builder_contributor 로 지정
+ */
+public class SqlFunctionContributor implements MetadataBuilderContributor {
+
+    @Override
+    public void contribute(MetadataBuilder metadataBuilder) {
+        // 벌크 수정에서 행마다 change_seq 부여 (ChangeSequence.touch)
+        metadataBuilder.applySqlFunction("next_change_seq",
+                new SQLFunctionTemplate(StandardBasicTypes.LONG, "next value for change_sequence"));
+
+        // H2 전문 검색 결과의 키 (FullTextIndex), in 절 안에서만 사용: member.id in (ft_member_keys(:text))
+        metadataBuilder.applySqlFunction("ft_member_keys", fullTextKeys("MEMBER"));
+        metadataBuilder.applySqlFunction("ft_team_keys", fullTextKeys("TEAM"));
+    }
+
+    private static SQLFunctionTemplate fullTextKeys(String table) {
+        return new SQLFunctionTemplate(StandardBasicTypes.LONG,
+                "select cast(ft.KEYS[1] as bigint) from FT_SEARCH_DATA(?1, 0, 0) ft where ft.\"TABLE\" = '" + table + "'");
+    }
+}
@@ -0,0 +1,118 @@
+package study.querydsl.repository.support;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 테이블별 행 수와 인덱스 선두 컬럼 (QueryCostGuard 의 비용 추정용)
+ * JDBC 메타데이터로 읽고 statistics-ttl 동안 캐시, 정확할 필요는 없음
+ * - 호출한 쪽의 트랜잭션 커넥션으로 읽음 (커넥션을 하나 더 빌리지 않음)
+ * - ttl 이 지나면 한 요청만 다시 읽고, 그동안 다른 요청은 이전 값을 그대로 사용
+ * 테이블/컬럼 이름은 소문자로 통일
+ */
+@Component
+public class TableStatistics {
+    private final JdbcTemplate jdbcTemplate;
+    private final long ttlNanos;
+
+    private final Map<String, Table> tables = new ConcurrentHashMap<>();
+    // 다시 읽는 중인 테이블
+    private final Set<String> loading = ConcurrentHashMap.newKeySet();
+
+    public TableStatistics(JdbcTemplate jdbcTemplate,
+                           @Value("${member.cost-guard.statistics-ttl:1m}") Duration ttl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Table get(String tableName) {
+        String key = tableName.toLowerCase(Locale.ROOT);
+        Table table = tables.get(key);
+        if (table == null) {
+            // 처음 한 번은 기다려야 하므로 같은 테이블을 읽는 요청은 한 번만 읽도록 모음
+            return tables.computeIfAbsent(key, this::load);
+        }
+        if (System.nanoTime() - table.loadedAt > ttlNanos && loading.add(key)) {
+            try {
+                table = load(key);
+                tables.put(key, table);
+            } finally {
+                loading.remove(key);
+            }
+        }
+        return table;
+    }
+
+    private Table load(String tableName) {
+        return jdbcTemplate.execute((ConnectionCallback<Table>) connection -> load(connection, tableName));
+    }
+
+    private static Table load(Connection connection, String tableName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String name = metaData.storesUpperCaseIdentifiers() ? tableName.toUpperCase(Locale.ROOT) : tableName;
+
+        Set<String> indexed = new HashSet<>();
+        Set<String> unique = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, name, false, true)) {
+            while (rs.next()) {
+                String column = rs.getString("COLUMN_NAME");
+                // 복합 인덱스는 선두 컬럼만 탐색에 쓸 수 있음
+                if (column == null || rs.getShort("TYPE") == DatabaseMetaData.tableIndexStatistic
+                        || rs.getShort("ORDINAL_POSITION") != 1) {
+                    continue;
+                }
+                column = column.toLowerCase(Locale.ROOT);
+                indexed.add(column);
+                if (!rs.getBoolean("NON_UNIQUE")) {
+                    unique.add(column);
+                }
+            }
+        }
+
+        long rowCount;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select count(*) from " + tableName)) {
+            rs.next();
+            rowCount = rs.getLong(1);
+        }
+        return new Table(rowCount, indexed, unique, System.nanoTime());
+    }
+
+    @Getter
+    public static class Table {
+        private final long rowCount;
+        private final Set<String> indexedColumns;
+        private final Set<String> uniqueColumns;
+        private final long loadedAt;
+
+        Table(long rowCount, Set<String> indexedColumns, Set<String> uniqueColumns, long loadedAt) {
+            this.rowCount = rowCount;
+            this.indexedColumns = indexedColumns;
+            this.uniqueColumns = uniqueColumns;
+            this.loadedAt = loadedAt;
+        }
+
+        public boolean isIndexed(String column) {
+            return indexedColumns.contains(column);
+        }
+
+        public boolean isUnique(String column) {
+            return uniqueColumns.contains(column);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManagerFactory;
+
+/*
+ * Member.team 프록시 batch fetch 효과를 Hibernate Statistics 로 노출
+ * batch fetch 자체는 hibernate.default_batch_fetch_size (= member.team-batch.size) 가 함
+ * - member.team-batch.fetches: 팀 프록시를 초기화하려고 실행한 select 수 (batch 로 여러 팀을 읽어도 1)
+ * - member.team-batch.selects-saved: 읽힌 팀 수 - fetches, 앞선 batch 에 함께 읽혀 따로 select 하지 않은 팀 수
+ *   팀을 직접 조회(select t from Team t)해서 읽힌 팀도 포함되므로 근사값
+ * hibernate.generate_statistics 가 꺼져 있으면 등록하지 않음
+ */
+@Component
+public class TeamBatchFetchMetrics {
+
+    public TeamBatchFetchMetrics(EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        FunctionCounter.builder("member.team-batch.fetches", statistics,
+                        stats -> team(stats).getFetchCount())
+                .register(meterRegistry);
+        FunctionCounter.builder("member.team-batch.selects-saved", statistics,
+                        stats -> Math.max(0, team(stats).getLoadCount() - team(stats).getFetchCount()))
+                .register(meterRegistry);
+    }
+
+    private static EntityStatistics team(Statistics statistics) {
+        return statistics.getEntityStatistics(Team.class.getName());
+    }
+}
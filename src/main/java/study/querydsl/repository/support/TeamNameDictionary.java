@@ -0,0 +1,271 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.jpa.JPAExpressions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import study.querydsl.changes.ChangeSequence;
+import study.querydsl.entity.QTeam;
+import study.querydsl.entity.Team;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static study.querydsl.entity.QMember.member;
+
+/*
+ * 팀 이름 -> 팀 id 사전
+ * teamName 조건을 team.name = ? (조인 필요) 대신 member.team.id = ? (FK 조회) 로 바꾸기 위해 사용
+ *
+ * - 팀을 읽어 캐시하고, 이 프로세스에서 팀이 커밋될 때마다(추가/수정/삭제) 버전을 올려 다음 조회 때 다시 읽음
+ *   다른 노드나 SQL 로 바뀐 팀은 알 수 없으므로 ttl 이 지나면 다시 읽음 (그동안은 예전 이름으로 조회될 수 있음)
+ * - 다시 읽는 동안 다른 요청은 기다리지 않고 서브쿼리로 조회 (커넥션을 쥔 채 두 번째 커넥션을 기다리지 않게)
+ * - 현재 트랜잭션에서 flush 된 팀은 트랜잭션 범위의 overlay 에 따로 보관
+ * - 현재 트랜잭션이 member/team 을 썼거나 flush 대기 중인 insert/delete 가 있으면 서브쿼리로 조회
+ *   (flush 되지 않은 팀 이름 수정은 감지하지 못함)
+ * - 캐시에 없는 이름은 Expressions.FALSE 가 되어 PredicateOptimizer 가 쿼리 없이 빈 결과로 처리
+ * 팀 id 가 남는 쪽(삭제 직후 등)은 결과에 영향이 없고, 빠지는 쪽만 막으면 됨
+ * JDBC 로 팀을 직접 넣는 코드는 커밋 후 invalidate 를 호출해야 함 (MemberCsvImporter, MemberDataSeeder)
+ */
+@Component
+public class TeamNameDictionary implements PostInsertEventListener, PostUpdateEventListener {
+    private static final QTeam teamByName = new QTeam("teamByName");
+    private static final Object OVERLAY_KEY = TeamNameDictionary.class.getName() + ".overlay";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager em;
+    private final JdbcTemplate jdbcTemplate;
+    private final ChangeSequence changeSequence;
+    private final long ttlNanos;
+
+    private final AtomicLong version = new AtomicLong();
+    private final AtomicBoolean loading = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    private final Counter reloads;
+    private final Counter fallbacks;
+
+    public TeamNameDictionary(EntityManagerFactory entityManagerFactory, EntityManager em, JdbcTemplate jdbcTemplate,
+                              ChangeSequence changeSequence, MeterRegistry meterRegistry,
+                              @Value("${member.team-dictionary.ttl:30s}") Duration ttl) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.em = em;
+        this.jdbcTemplate = jdbcTemplate;
+        this.changeSequence = changeSequence;
+        this.ttlNanos = ttl.toNanos();
+        this.reloads = meterRegistry.counter("member.team-dictionary.reloads");
+        this.fallbacks = meterRegistry.counter("member.team-dictionary.fallbacks");
+    }
+
+    @PostConstruct
+    public void register() {
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_INSERT, this);
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_UPDATE, this);
+        CommitListener commitListener = new CommitListener();
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_COMMIT_INSERT, commitListener);
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_COMMIT_UPDATE, commitListener);
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_COMMIT_DELETE, commitListener);
+    }
+
+    // member.team.name = teamName 과 같은 결과, 팀 조인 없이
+    public BooleanExpression memberTeamNameEq(String teamName) {
+        if (!StringUtils.hasText(teamName)) {
+            return null;
+        }
+        Snapshot current = isWriting() ? null : current();
+        if (current == null) {
+            fallbacks.increment();
+            return member.team.id.in(JPAExpressions
+                    .select(teamByName.id)
+                    .from(teamByName)
+                    .where(teamByName.name.eq(teamName)));
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(current.ids(teamName));
+        Map<String, Set<Long>> overlay = overlay(false);
+        if (overlay != null) {
+            ids.addAll(overlay.getOrDefault(teamName, Collections.emptySet()));
+        }
+        if (ids.isEmpty()) {
+            return Expressions.FALSE;
+        }
+        return ids.size() == 1 ? member.team.id.eq(ids.iterator().next()) : member.team.id.in(ids);
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    // 사전에 있는 팀 이름 하나, 팀이 없거나 다른 요청이 다시 읽는 중이면 null (워밍업용)
+    public String anyTeamName() {
+        Snapshot current = current();
+        return current == null || current.ids.isEmpty() ? null : current.ids.keySet().iterator().next();
+    }
+
+    // 트랜잭션이 쓴 내용이 있으면 사전을 만들거나 쓸 수 없음, Session.isDirty() 와 달리 전체 dirty check 없음
+    private boolean isWriting() {
+        return PendingChanges.exist(em, changeSequence);
+    }
+
+    // null 이면 다른 요청이 다시 읽는 중
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        long now = System.nanoTime();
+        if (current != null && current.version == version.get() && now - current.loadedAt < ttlNanos) {
+            return current;
+        }
+        if (!loading.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            // 읽는 도중 버전이 바뀌면 다음 조회 때 다시 읽음
+            current = new Snapshot(version.get(), now, load());
+            snapshot = current;
+            reloads.increment();
+            return current;
+        } finally {
+            loading.set(false);
+        }
+    }
+
+    // 현재 트랜잭션의 커넥션으로 읽음 (쓰지 않은 트랜잭션만 여기까지 옴)
+    private Map<String, List<Long>> load() {
+        Map<String, List<Long>> ids = new HashMap<>();
+        jdbcTemplate.query("select team_id, name from team where name is not null", rs -> {
+            ids.computeIfAbsent(rs.getString(2), name -> new ArrayList<>(1)).add(rs.getLong(1));
+        });
+        return ids;
+    }
+
+    private Map<String, Set<Long>> overlay(boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Set<Long>> overlay = (Map<String, Set<Long>>) TransactionSynchronizationManager.getResource(OVERLAY_KEY);
+        if (overlay == null && create) {
+            Map<String, Set<Long>> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(OVERLAY_KEY, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OVERLAY_KEY);
+                }
+            });
+            overlay = created;
+        }
+        return overlay;
+    }
+
+    // flush 시점, 커밋 전
+    private void flushed(Object entity, Object id) {
+        if (entity instanceof Team && ((Team) entity).getName() != null) {
+            Map<String, Set<Long>> overlay = overlay(true);
+            if (overlay != null) {
+                overlay.computeIfAbsent(((Team) entity).getName(), name -> new LinkedHashSet<>()).add((Long) id);
+            }
+        }
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        flushed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        flushed(event.getEntity(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    // 커밋된 팀 변경은 캐시를 무효화
+    private class CommitListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Team) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Team) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Team) {
+                invalidate();
+            }
+        }
+
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return persister.getMappedClass() == Team.class;
+        }
+    }
+
+    private static class Snapshot {
+        private final long version;
+        private final long loadedAt;
+        private final Map<String, List<Long>> ids;
+
+        Snapshot(long version, long loadedAt, Map<String, List<Long>> ids) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.ids = ids;
+        }
+
+        List<Long> ids(String name) {
+            return ids.getOrDefault(name, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package study.querydsl.subscription;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.HibernateEventListeners;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+
+/*
+ * 커밋된 회원/팀 변경을 구독 레지스트리로 전달
+ * JPQL/JDBC 벌크 연산은 엔티티 이벤트가 없으므로 구독에 반영되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final MemberSubscriptionRegistry registry;
+
+    @PostConstruct
+    public void register() {
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_COMMIT_INSERT, this);
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_COMMIT_UPDATE, this);
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Member) {
+            registry.memberChanged(null, snapshot(event.getId(), event.getState(), event.getPersister()));
+        } else if (event.getEntity() instanceof Team) {
+            registry.teamChanged((Long) event.getId(), null, ((Team) event.getEntity()).getName());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Member) {
+            MemberSnapshot after = snapshot(event.getId(), event.getState(), event.getPersister());
+            // 분리된 엔티티를 갱신한 경우 이전 상태가 없음, 변경 후 상태로 대신함
+            MemberSnapshot before = event.getOldState() == null
+                    ? after : snapshot(event.getId(), event.getOldState(), event.getPersister());
+            registry.memberChanged(before, after);
+        } else if (event.getEntity() instanceof Team) {
+            // 분리된 엔티티를 갱신한 경우 이전 이름은 레지스트리의 캐시 값을 사용
+            String oldName = event.getOldState() == null ? null
+                    : (String) event.getOldState()[HibernateEventListeners.propertyIndex(
+                            event.getPersister().getPropertyNames(), "name")];
+            registry.teamChanged((Long) event.getId(), oldName, ((Team) event.getEntity()).getName());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Member) {
+            registry.memberChanged(snapshot(event.getId(), event.getDeletedState(), event.getPersister()), null);
+        } else if (event.getEntity() instanceof Team) {
+            registry.teamChanged((Long) event.getId(), null, null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return type == Member.class || type == Team.class;
+    }
+
+    private MemberSnapshot snapshot(Object id, Object[] state, EntityPersister persister) {
+        String[] names = persister.getPropertyNames();
+        return new MemberSnapshot(
+                (Long) id,
+                (String) state[HibernateEventListeners.propertyIndex(names, "username")],
+                (Integer) state[HibernateEventListeners.propertyIndex(names, "age")],
+                HibernateEventListeners.teamIdOf(state[HibernateEventListeners.propertyIndex(names, "team")]));
+    }
+}
@@ -0,0 +1,12 @@
+package study.querydsl.subscription;
+
+import lombok.Data;
+
+// 커밋된 회원 상태 (변경 전/후 비교용)
+@Data
+public class MemberSnapshot {
+    private final Long memberId;
+    private final String username;
+    private final int age;
+    private final Long teamId;
+}
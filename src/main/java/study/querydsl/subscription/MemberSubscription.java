@@ -0,0 +1,47 @@
+package study.querydsl.subscription;
+
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+public class MemberSubscription {
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final long id = SEQUENCE.incrementAndGet();
+    private final String username;
+    private final String teamName;
+    private final int ageGoe;
+    private final int ageLoe;
+    private final SseEmitter emitter;
+    private boolean closed;
+
+    public MemberSubscription(MemberSearchCondition condition, SseEmitter emitter) {
+        this.username = StringUtils.hasText(condition.getUsername()) ? condition.getUsername() : null;
+        this.teamName = StringUtils.hasText(condition.getTeamName()) ? condition.getTeamName() : null;
+        this.ageGoe = condition.getAgeGoe() != null ? condition.getAgeGoe() : Integer.MIN_VALUE;
+        this.ageLoe = condition.getAgeLoe() != null ? condition.getAgeLoe() : Integer.MAX_VALUE;
+        this.emitter = emitter;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    // MemberJpaRepository.searchBuilder 와 같은 조건
+    public boolean matches(MemberSnapshot member, String memberTeamName) {
+        if (member == null) {
+            return false;
+        }
+        if (username != null && !username.equals(member.getUsername())) {
+            return false;
+        }
+        if (teamName != null && !teamName.equals(memberTeamName)) {
+            return false;
+        }
+        return member.getAge() >= ageGoe && member.getAge() <= ageLoe;
+    }
+}
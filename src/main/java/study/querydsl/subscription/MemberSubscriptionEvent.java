@@ -0,0 +1,13 @@
+package study.querydsl.subscription;
+
+import lombok.Data;
+import study.querydsl.dto.MemberTeamDto;
+
+@Data
+public class MemberSubscriptionEvent {
+    // 조건에 새로 맞게 됨, 여전히 맞지만 값이 바뀜, 더 이상 맞지 않음
+    public enum Type { MATCH, UPDATE, UNMATCH }
+
+    private final Type type;
+    private final MemberTeamDto member;
+}
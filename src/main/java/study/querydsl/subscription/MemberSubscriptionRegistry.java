@@ -0,0 +1,185 @@
+package study.querydsl.subscription;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * 회원 검색 구독 관리
+ * 커밋된 회원 변경(변경 전/후 상태)을 단일 디스패치 스레드에서 순서대로 처리
+ * 변경 전/후 각각 조건에 맞는 구독을 색인으로 찾아 MATCH / UPDATE / UNMATCH 를 전송
+ * DB 를 다시 조회하지 않으므로 구독자가 많아도 커밋 비용은 그대로
+ * 팀 이름이 바뀌면 그 팀 회원을 한 번 읽어 이전/새 이름으로 다시 평가 (구독이 있을 때만, 디스패치 스레드에서)
+ */
+@Slf4j
+@Component
+public class MemberSubscriptionRegistry implements DisposableBean {
+    private static final String TEAM_MEMBERS =
+            "select member_id, username, age from member where team_id = ?";
+
+    private final TeamNameResolver teamNameResolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final SubscriptionIndex index = new SubscriptionIndex();
+    private final AtomicInteger active = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-subscription");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<MemberSubscriptionEvent.Type, Counter> sent = new EnumMap<>(MemberSubscriptionEvent.Type.class);
+
+    private final Duration timeout;
+    private final int maxSubscriptions;
+
+    public MemberSubscriptionRegistry(TeamNameResolver teamNameResolver,
+                                      JdbcTemplate jdbcTemplate,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${member.subscription.timeout:30m}") Duration timeout,
+                                      @Value("${member.subscription.max-subscriptions:1000}") int maxSubscriptions) {
+        this.teamNameResolver = teamNameResolver;
+        this.jdbcTemplate = jdbcTemplate;
+        this.timeout = timeout;
+        this.maxSubscriptions = maxSubscriptions;
+
+        Gauge.builder("member.subscription.active", active, AtomicInteger::get)
+                .register(meterRegistry);
+        for (MemberSubscriptionEvent.Type type : MemberSubscriptionEvent.Type.values()) {
+            sent.put(type, Counter.builder("member.subscription.events")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public SseEmitter subscribe(MemberSearchCondition condition) {
+        if (active.incrementAndGet() > maxSubscriptions) {
+            active.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many subscriptions");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        MemberSubscription subscription = new MemberSubscription(condition, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(e -> unsubscribe(subscription));
+        index.add(subscription);
+        return emitter;
+    }
+
+    private void unsubscribe(MemberSubscription subscription) {
+        // 완료/타임아웃/오류 콜백이 겹쳐 호출될 수 있음
+        synchronized (subscription) {
+            if (subscription.isClosed()) {
+                return;
+            }
+            subscription.close();
+        }
+        index.remove(subscription);
+        active.decrementAndGet();
+    }
+
+    // 커밋 후 호출, before 가 null 이면 추가, after 가 null 이면 삭제
+    public void memberChanged(MemberSnapshot before, MemberSnapshot after) {
+        if (active.get() == 0) {
+            return;
+        }
+        dispatcher.execute(() -> dispatch(before, resolve(before), after, resolve(after)));
+    }
+
+    /*
+     * 팀 이름 캐시도 같은 스레드에서 갱신해 회원 변경과 순서를 맞춤
+     * oldName 은 변경 전 이름 (추가면 null, 알 수 없으면 캐시 값), name 이 null 이면 삭제
+     */
+    public void teamChanged(Long teamId, String oldName, String name) {
+        dispatcher.execute(() -> {
+            String before = oldName != null ? oldName : teamNameResolver.cached(teamId);
+            teamNameResolver.update(teamId, name);
+            if (active.get() > 0 && before != null && name != null && !before.equals(name)) {
+                teamRenamed(teamId, before, name);
+            }
+        });
+    }
+
+    // 회원 상태는 그대로이고 팀 이름만 바뀜, teamName 구독은 MATCH/UNMATCH, 나머지는 UPDATE
+    private void teamRenamed(Long teamId, String oldName, String name) {
+        List<MemberSnapshot> members;
+        try {
+            members = jdbcTemplate.query(TEAM_MEMBERS, (rs, rowNum) ->
+                    new MemberSnapshot(rs.getLong(1), rs.getString(2), rs.getInt(3), teamId), teamId);
+        } catch (RuntimeException e) {
+            log.warn("failed to read members of renamed team {}", teamId, e);
+            return;
+        }
+        for (MemberSnapshot member : members) {
+            dispatch(member, oldName, member, name);
+        }
+    }
+
+    private String resolve(MemberSnapshot member) {
+        return member == null ? null : teamNameResolver.resolve(member.getTeamId());
+    }
+
+    private void dispatch(MemberSnapshot before, String beforeTeamName, MemberSnapshot after, String afterTeamName) {
+        try {
+            Set<MemberSubscription> matchedBefore = index.candidates(before, beforeTeamName);
+            Set<MemberSubscription> matchedAfter = index.candidates(after, afterTeamName);
+
+            for (MemberSubscription subscription : matchedAfter) {
+                if (!matchedBefore.contains(subscription)) {
+                    send(subscription, MemberSubscriptionEvent.Type.MATCH, after, afterTeamName);
+                } else if (!after.equals(before) || !Objects.equals(afterTeamName, beforeTeamName)) {
+                    send(subscription, MemberSubscriptionEvent.Type.UPDATE, after, afterTeamName);
+                }
+            }
+            for (MemberSubscription subscription : matchedBefore) {
+                if (!matchedAfter.contains(subscription)) {
+                    send(subscription, MemberSubscriptionEvent.Type.UNMATCH, before, beforeTeamName);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("member subscription dispatch failed: before={}, after={}", before, after, e);
+        }
+    }
+
+    private void send(MemberSubscription subscription, MemberSubscriptionEvent.Type type,
+                      MemberSnapshot member, String teamName) {
+        MemberTeamDto dto = new MemberTeamDto(member.getMemberId(), member.getUsername(), member.getAge(),
+                member.getTeamId(), teamName);
+        try {
+            subscription.getEmitter().send(SseEmitter.event()
+                    .name(type.name().toLowerCase())
+                    .data(new MemberSubscriptionEvent(type, dto)));
+            sent.get(type).increment();
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 끊긴 경우
+            unsubscribe(subscription);
+            subscription.getEmitter().completeWithError(e);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        dispatcher.shutdown();
+        dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,84 @@
+package study.querydsl.subscription;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/*
+ * 구독 조건을 팀 이름, 나이 구간으로 색인
+ * 변경된 회원의 팀과 나이에 해당하는 버킷의 구독만 후보로 꺼내 나머지 조건을 검사
+ * 나이는 10살 단위 버킷, 마지막 버킷은 그 이상 전부
+ */
+class SubscriptionIndex {
+    private static final String ANY_TEAM = "";
+    private static final int BUCKET_WIDTH = 10;
+    private static final int BUCKETS = 16;
+
+    private final Map<String, AgeBuckets> byTeam = new ConcurrentHashMap<>();
+
+    void add(MemberSubscription subscription) {
+        byTeam.computeIfAbsent(teamKey(subscription), key -> new AgeBuckets()).add(subscription);
+    }
+
+    void remove(MemberSubscription subscription) {
+        AgeBuckets buckets = byTeam.get(teamKey(subscription));
+        if (buckets != null) {
+            buckets.remove(subscription);
+        }
+    }
+
+    Set<MemberSubscription> candidates(MemberSnapshot member, String teamName) {
+        if (member == null) {
+            return Collections.emptySet();
+        }
+        AgeBuckets any = byTeam.get(ANY_TEAM);
+        AgeBuckets team = teamName == null ? null : byTeam.get(teamName);
+        return Stream.of(any, team)
+                .filter(buckets -> buckets != null)
+                .flatMap(buckets -> buckets.get(member.getAge()).stream())
+                .filter(subscription -> subscription.matches(member, teamName))
+                .collect(Collectors.toSet());
+    }
+
+    private String teamKey(MemberSubscription subscription) {
+        return subscription.getTeamName() == null ? ANY_TEAM : subscription.getTeamName();
+    }
+
+    private static int bucket(int age) {
+        if (age < 0) {
+            return 0;
+        }
+        return Math.min(age / BUCKET_WIDTH, BUCKETS - 1);
+    }
+
+    private static class AgeBuckets {
+        @SuppressWarnings("unchecked")
+        private final Set<MemberSubscription>[] buckets = new Set[BUCKETS];
+
+        AgeBuckets() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new CopyOnWriteArraySet<>();
+            }
+        }
+
+        void add(MemberSubscription subscription) {
+            for (int i = bucket(subscription.getAgeGoe()); i <= bucket(subscription.getAgeLoe()); i++) {
+                buckets[i].add(subscription);
+            }
+        }
+
+        void remove(MemberSubscription subscription) {
+            for (int i = bucket(subscription.getAgeGoe()); i <= bucket(subscription.getAgeLoe()); i++) {
+                buckets[i].remove(subscription);
+            }
+        }
+
+        Set<MemberSubscription> get(int age) {
+            return buckets[bucket(age)];
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package study.querydsl.subscription;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * 팀 id -> 이름 캐시
+ * 엔티티 이벤트로 갱신하고, JDBC 로 직접 들어온 팀 등 캐시에 없는 경우만 조회
+ * 트랜잭션 커밋 스레드가 아닌 구독 디스패치 스레드에서만 조회해야 함
+ */
+@Component
+@RequiredArgsConstructor
+public class TeamNameResolver {
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+
+    public String resolve(Long teamId) {
+        if (teamId == null) {
+            return null;
+        }
+        return names.computeIfAbsent(teamId, id -> {
+            try {
+                return jdbcTemplate.queryForObject("select name from team where team_id = ?", String.class, id);
+            } catch (EmptyResultDataAccessException e) {
+                return null;
+            }
+        });
+    }
+
+    // 조회 없이 캐시에 있는 이름만
+    String cached(Long teamId) {
+        return names.get(teamId);
+    }
+
+    void update(Long teamId, String name) {
+        if (name == null) {
+            names.remove(teamId);
+        } else {
+            names.put(teamId, name);
+        }
+    }
+
+    void remove(Long teamId) {
+        names.remove(teamId);
+    }
+}
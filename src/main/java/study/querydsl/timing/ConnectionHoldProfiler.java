@@ -0,0 +1,89 @@
+package study.querydsl.timing;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 커넥션을 빌려서 반납할 때까지의 시간(hold)과 그 중 SQL 실행 시간(sql)을 엔드포인트별로 기록
+ * - member.connection.hold{endpoint}, member.connection.sql{endpoint}
+ * - hold 가 sql 보다 훨씬 길면 커넥션을 쥔 채 다른 일(직렬화, 지연 로딩 대기 등)을 하고 있다는 뜻
+ * 엔드포인트는 반납 시점 요청의 매핑 패턴 (/v2/members 등), 요청 밖이면 none
+ */
+@Component
+@ConditionalOnProperty(prefix = "member.connection-profiler", name = "enabled", matchIfMissing = true)
+public class ConnectionHoldProfiler extends SimpleJdbcEventListener {
+    private static final String NO_ENDPOINT = "none";
+
+    private final MeterRegistry meterRegistry;
+    // p6spy 는 커넥션을 빌릴 때마다 ConnectionInformation 을 새로 만듦
+    private final Map<ConnectionInformation, Hold> holds = new ConcurrentHashMap<>();
+
+    public ConnectionHoldProfiler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        if (e == null) {
+            holds.put(connectionInformation, new Hold(System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        Hold hold = holds.get(statementInformation.getConnectionInformation());
+        if (hold != null) {
+            hold.sqlNanos += timeElapsedNanos;
+        }
+    }
+
+    @Override
+    public void onAfterConnectionClose(ConnectionInformation connectionInformation, SQLException e) {
+        Hold hold = holds.remove(connectionInformation);
+        if (hold == null) {
+            return;
+        }
+        String endpoint = endpoint();
+        timer("member.connection.hold", endpoint).record(System.nanoTime() - hold.acquiredAt, TimeUnit.NANOSECONDS);
+        timer("member.connection.sql", endpoint).record(hold.sqlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer timer(String name, String endpoint) {
+        return Timer.builder(name)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    private static String endpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return NO_ENDPOINT;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : NO_ENDPOINT;
+    }
+
+    // 커넥션은 한 번에 한 스레드에서만 사용
+    private static class Hold {
+        private final long acquiredAt;
+        private long sqlNanos;
+
+        Hold(long acquiredAt) {
+            this.acquiredAt = acquiredAt;
+        }
+    }
+}
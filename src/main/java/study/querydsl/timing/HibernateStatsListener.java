@@ -0,0 +1,49 @@
+package study.querydsl.timing;
+
+import org.hibernate.HibernateException;
+import org.hibernate.event.spi.AutoFlushEvent;
+import org.hibernate.event.spi.AutoFlushEventListener;
+import org.hibernate.event.spi.FlushEvent;
+import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+// 기본 리스너 뒤에 등록되므로 실제로 일어난 로딩/flush 만 셈
+class HibernateStatsListener implements PostLoadEventListener, InitializeCollectionEventListener,
+        FlushEventListener, AutoFlushEventListener {
+
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            stats.entityLoaded();
+        }
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) throws HibernateException {
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            stats.collectionFetched();
+        }
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) throws HibernateException {
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            stats.flushed();
+        }
+    }
+
+    // 쿼리 전 자동 flush 는 변경이 있어서 실제로 flush 한 경우만
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) throws HibernateException {
+        RequestStats stats = RequestStats.current();
+        if (stats != null && event.isFlushRequired()) {
+            stats.flushed();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package study.querydsl.timing;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import java.sql.SQLException;
+
+// p6spy 가 감싼 Statement 실행마다 호출됨 (배치 포함), 빈으로 등록하면 p6spy starter 가 연결
+class JdbcTimingListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            stats.statementExecuted(timeElapsedNanos);
+        }
+    }
+}
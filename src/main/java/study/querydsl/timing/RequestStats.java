@@ -0,0 +1,79 @@
+package study.querydsl.timing;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 요청 하나 동안의 DB 사용량
+ * 요청 스레드에 묶어두고 JDBC/Hibernate 리스너가 같은 스레드에서 누적
+ * 다른 스레드(선조회 등)에서 실행된 쿼리는 포함되지 않음
+ */
+public class RequestStats {
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+
+    private long statements;
+    private long jdbcNanos;
+    private long entityLoads;
+    private long collectionFetches;
+    private long flushes;
+
+    RequestStats(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    static RequestStats bind() {
+        RequestStats stats = new RequestStats(System.nanoTime());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    // 요청 밖이면 null
+    static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted(long elapsedNanos) {
+        statements++;
+        jdbcNanos += elapsedNanos;
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionFetched() {
+        collectionFetches++;
+    }
+
+    void flushed() {
+        flushes++;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Server-Timing: db;dur=12.3;desc="5 statements", hibernate;desc="loads=30 collections=0 flushes=1", app;dur=20.1
+    String serverTiming(long elapsedNanos) {
+        return String.format(Locale.ROOT,
+                "db;dur=%.3f;desc=\"%d statements\", hibernate;desc=\"loads=%d collections=%d flushes=%d\", app;dur=%.3f",
+                millis(jdbcNanos), statements, entityLoads, collectionFetches, flushes, millis(elapsedNanos));
+    }
+
+    // 접근 로그용 key=value
+    String logFields(long elapsedNanos) {
+        return String.format(Locale.ROOT,
+                "durationMs=%.3f dbMs=%.3f statements=%d entityLoads=%d collectionFetches=%d flushes=%d",
+                millis(elapsedNanos), millis(jdbcNanos), statements, entityLoads, collectionFetches, flushes);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// @ResponseBody 응답에 Server-Timing 헤더 추가, 스트리밍(NDJSON, SSE) 응답은 접근 로그에만 남음
+@ControllerAdvice
+@ConditionalOnProperty(prefix = "member.server-timing", name = "enabled")
+public class ServerTimingAdvice implements ResponseBodyAdvice<Object> {
+    static final String HEADER = "Server-Timing";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            response.getHeaders().add(HEADER, stats.serverTiming(stats.elapsedNanos()));
+        }
+        return body;
+    }
+}
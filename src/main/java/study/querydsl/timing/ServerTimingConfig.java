@@ -0,0 +1,47 @@
+package study.querydsl.timing;
+
+import com.p6spy.engine.event.JdbcEventListener;
+import org.hibernate.event.spi.EventType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import study.querydsl.repository.support.HibernateEventListeners;
+
+import javax.persistence.EntityManagerFactory;
+
+/*
+ * 요청별 DB 시간/Hibernate 통계 (member.server-timing.enabled)
+ * 꺼져 있으면 필터와 리스너를 등록하지 않으므로 비용 없음
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "member.server-timing", name = "enabled")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${member.server-timing.paths:/*}") String[] paths) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns(paths);
+        // 다른 필터에서 실행한 쿼리도 포함되도록 가장 바깥에서
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public JdbcEventListener jdbcTimingListener() {
+        return new JdbcTimingListener();
+    }
+
+    @Bean
+    public HibernateStatsListener hibernateStatsListener(EntityManagerFactory entityManagerFactory) {
+        HibernateStatsListener listener = new HibernateStatsListener();
+        HibernateEventListeners.append(entityManagerFactory, EventType.POST_LOAD, listener);
+        HibernateEventListeners.append(entityManagerFactory, EventType.INIT_COLLECTION, listener);
+        HibernateEventListeners.append(entityManagerFactory, EventType.FLUSH, listener);
+        HibernateEventListeners.append(entityManagerFactory, EventType.AUTO_FLUSH, listener);
+        return listener;
+    }
+}
@@ -0,0 +1,33 @@
+package study.querydsl.timing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/*
+ * 요청마다 RequestStats 를 묶고, 끝나면 구조화된 접근 로그를 남김
+ * 헤더는 응답 본문보다 먼저 나가야 하므로 ServerTimingAdvice 가 본문 쓰기 직전에 추가
+ */
+@Slf4j(topic = "study.querydsl.timing.access")
+class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestStats stats = RequestStats.bind();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestStats.unbind();
+            if (log.isInfoEnabled()) {
+                log.info("method={} uri={} status={} {}", request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), stats.logFields(stats.elapsedNanos()));
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package study.querydsl.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.support.TeamNameDictionary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 배포 직후 첫 요청이 느린 문제 대응
+ * Hibernate 쿼리 플랜 캐시, Querydsl 직렬화, Jackson 직렬화, JIT 를 미리 데운다
+ * ApplicationRunner 가 끝나야 ReadinessState.ACCEPTING_TRAFFIC 가 발행되므로
+ * 워밍업이 끝날 때까지 readiness 는 준비되지 않은 상태로 보고됨
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "member.warmup", name = "enabled", matchIfMissing = true)
+public class MemberSearchWarmup implements ApplicationRunner {
+    private static final List<Sort> SORTS = List.of(
+            Sort.unsorted(),
+            Sort.by("username"),
+            Sort.by(Sort.Direction.DESC, "age"));
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final MemberRepository memberRepository;
+    private final TeamNameDictionary teamNameDictionary;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final int iterations;
+
+    public MemberSearchWarmup(MemberJpaRepository memberJpaRepository,
+                              MemberRepository memberRepository,
+                              TeamNameDictionary teamNameDictionary,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${member.warmup.iterations:3}") int iterations) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.memberRepository = memberRepository;
+        this.teamNameDictionary = teamNameDictionary;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        List<MemberSearchCondition> shapes = shapes();
+
+        step("search-v1", () -> {
+            for (MemberSearchCondition condition : shapes) {
+                warm(condition);
+            }
+        });
+        step("search-v2", () -> {
+            for (MemberSearchCondition condition : shapes) {
+                for (Sort sort : SORTS) {
+                    warm(condition, PageRequest.of(0, 20, sort));
+                }
+            }
+        });
+        step("serializers", this::warmSerializers);
+
+        log.info("member search warm-up finished in {}ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public void warm(MemberSearchCondition condition) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            memberJpaRepository.searchByBuilder(condition);
+            status.setRollbackOnly();
+        });
+    }
+
+    public void warm(MemberSearchCondition condition, Pageable pageable) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            memberRepository.searchPageSimple(condition, pageable);
+            status.setRollbackOnly();
+        });
+    }
+
+    private void step(String name, Runnable work) {
+        Timer timer = Timer.builder("member.warmup")
+                .description("Time spent in each startup warm-up step")
+                .tag("step", name)
+                .register(meterRegistry);
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            try {
+                work.run();
+            } catch (RuntimeException e) {
+                // 워밍업 실패로 기동을 막지는 않음
+                log.warn("warm-up step {} failed", name, e);
+                return;
+            }
+            long elapsed = System.nanoTime() - start;
+            timer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("warm-up step {} #{} took {}ms", name, i + 1, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private void warmSerializers() {
+        List<MemberTeamDto> content = List.of(
+                new MemberTeamDto(1L, "warmup", 10, 1L, "warmup"),
+                new MemberTeamDto(2L, "warmup", 20, null, null));
+        try {
+            objectMapper.writeValueAsBytes(content);
+            objectMapper.writeValueAsBytes(new PageImpl<>(content, PageRequest.of(0, 20), content.size()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * username, teamName, ageGoe, ageLoe 의 모든 조합 (16가지)
+     * 없는 팀 이름은 TeamNameDictionary 가 항상 거짓으로 바꿔 쿼리 없이 끝나므로 사전에 있는 팀 이름을 사용
+     * 팀이 하나도 없으면 teamName 조건은 어차피 쿼리까지 가지 않으므로 제외 (8가지)
+     */
+    List<MemberSearchCondition> shapes() {
+        String teamName = teamNameDictionary.anyTeamName();
+        if (teamName == null) {
+            log.info("no team to warm up teamName conditions with, skipping them");
+        }
+        List<MemberSearchCondition> shapes = new ArrayList<>();
+        for (int mask = 0; mask < 16; mask++) {
+            if ((mask & 2) != 0 && teamName == null) {
+                continue;
+            }
+            shapes.add(MemberSearchCondition.builder()
+                    .username((mask & 1) != 0 ? "warmup" : null)
+                    .teamName((mask & 2) != 0 ? teamName : null)
+                    .ageGoe((mask & 4) != 0 ? 0 : null)
+                    .ageLoe((mask & 8) != 0 ? 200 : null)
+                    .build());
+        }
+        return shapes;
+    }
+}
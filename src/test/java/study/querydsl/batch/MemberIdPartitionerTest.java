@@ -0,0 +1,36 @@
+package study.querydsl.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberIdPartitionerTest {
+
+    @Test
+    void split() {
+        List<IdRange> ranges = MemberIdPartitioner.split(1, 10, 3);
+
+        assertThat(ranges).extracting("from").containsExactly(1L, 5L, 9L);
+        assertThat(ranges).extracting("to").containsExactly(4L, 8L, 10L);
+    }
+
+    @Test
+    void splitSmallerThanPartitions() {
+        List<IdRange> ranges = MemberIdPartitioner.split(7, 8, 4);
+
+        assertThat(ranges).extracting("from").containsExactly(7L, 8L);
+        assertThat(ranges).extracting("to").containsExactly(7L, 8L);
+    }
+
+    @Test
+    void rejectsNonPositiveOptions() {
+        assertThatThrownBy(() -> MemberIdPartitioner.split(1, 10, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BatchOptions.builder().partitions(0).build().validate())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BatchOptions.builder().chunkSize(-1).build().validate())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
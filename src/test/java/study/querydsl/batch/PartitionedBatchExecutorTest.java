@@ -0,0 +1,132 @@
+package study.querydsl.batch;
+
+import org.hibernate.StatelessSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 파티션은 별도 StatelessSession 으로 처리하므로 커밋된 데이터로 실행
+@SpringBootTest
+class PartitionedBatchExecutorTest {
+    private static final String JOB_NAME = "batch-test";
+
+    @Autowired
+    PartitionedBatchExecutor executor;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            for (int i = 0; i < 20; i++) {
+                Member member = new Member("batchMember" + i, i);
+                em.persist(member);
+                ids.add(member.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from batch_checkpoint where job_name = ?", JOB_NAME);
+        tx.executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username like 'batchMember%'").executeUpdate());
+    }
+
+    @Test
+    void processesEveryMemberOnce() {
+        RecordingProcessor processor = new RecordingProcessor(null);
+
+        BatchReport report = executor.run(processor, BatchOptions.builder().partitions(3).threads(2).chunkSize(4).build());
+
+        assertThat(processor.processed).containsAll(ids).doesNotHaveDuplicates();
+        assertThat(report.getProcessed()).isEqualTo(processor.processed.size());
+        assertThat(report.getPartitions()).allMatch(BatchReport.PartitionReport::isCompleted);
+        assertThat(checkpointCount()).isZero();
+    }
+
+    @Test
+    void resumesFromCheckpointAfterFailure() {
+        // 우리 회원 가운데 중간쯤에서 한 번만 실패
+        RecordingProcessor processor = new RecordingProcessor(ids.get(10));
+        BatchOptions options = BatchOptions.builder().partitions(2).threads(1).chunkSize(3).build();
+
+        assertThatThrownBy(() -> executor.run(processor, options)).isInstanceOf(IllegalStateException.class);
+        assertThat(checkpointCount()).isPositive();
+        List<Long> committed = new ArrayList<>(processor.processed);
+        assertThat(committed).doesNotContain(ids.get(10));
+
+        executor.run(processor, options);
+
+        // 커밋된 청크는 다시 처리하지 않고, 실패한 청크부터 이어서 처리
+        assertThat(processor.processed).containsAll(ids).doesNotHaveDuplicates();
+        assertThat(checkpointCount()).isZero();
+    }
+
+    @Test
+    void rejectsTooManyPartitions() {
+        BatchOptions options = BatchOptions.builder().partitions(BatchOptions.MAX_PARTITIONS + 1).build();
+
+        assertThatThrownBy(() -> executor.run(new RecordingProcessor(null), options))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int checkpointCount() {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from batch_checkpoint where job_name = ?", Integer.class, JOB_NAME);
+    }
+
+    // 처리한 id 를 기록, failOn 을 포함한 청크는 첫 번째만 실패시킴 (롤백되므로 기록하지 않음)
+    static class RecordingProcessor implements MemberChunkProcessor {
+        final List<Long> processed = Collections.synchronizedList(new ArrayList<>());
+        private final Long failOn;
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        RecordingProcessor(Long failOn) {
+            this.failOn = failOn;
+        }
+
+        @Override
+        public String getName() {
+            return JOB_NAME;
+        }
+
+        @Override
+        public void process(StatelessSession session, List<Member> chunk) {
+            List<Long> chunkIds = new ArrayList<>();
+            for (Member member : chunk) {
+                chunkIds.add(member.getId());
+            }
+            if (failOn != null && chunkIds.contains(failOn) && failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("fail once: " + failOn);
+            }
+            processed.addAll(chunkIds);
+        }
+    }
+}
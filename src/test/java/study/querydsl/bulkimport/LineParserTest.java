@@ -0,0 +1,48 @@
+package study.querydsl.bulkimport;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineParserTest {
+
+    @Test
+    void parseLines() {
+        ByteBuffer buffer = ByteBuffer.wrap("username,age,team_name\r\nmember1,10,teamA\n\"a,\"\"b\"\"\",20,\n"
+                .getBytes(StandardCharsets.UTF_8));
+        MemberCsvImporter.LineParser parser = new MemberCsvImporter.LineParser(buffer);
+
+        assertThat(parser.next()).isTrue();
+        assertThat(parser.isHeader()).isTrue();
+
+        assertThat(parser.next()).isTrue();
+        assertThat(parser.fieldCount()).isEqualTo(3);
+        assertThat(parser.string(0)).isEqualTo("member1");
+        assertThat(parser.integer(1)).isEqualTo(10);
+        TeamDictionary teams = new TeamDictionary(Map.of("teamA", 1L));
+        assertThat(teams.get(parser.buffer(), parser.start(2), parser.length(2))).isEqualTo(1L);
+
+        assertThat(parser.next()).isTrue();
+        assertThat(parser.string(0)).isEqualTo("a,\"b\"");
+        assertThat(parser.integer(1)).isEqualTo(20);
+        assertThat(parser.length(2)).isEqualTo(0);
+
+        assertThat(parser.next()).isFalse();
+    }
+
+    @Test
+    void teamDictionaryGrows() {
+        TeamDictionary teams = new TeamDictionary(Map.of());
+        for (long i = 0; i < 100; i++) {
+            teams.put("team" + i, i);
+        }
+
+        byte[] key = "team42".getBytes(StandardCharsets.UTF_8);
+        assertThat(teams.get(ByteBuffer.wrap(key), 0, key.length)).isEqualTo(42L);
+        assertThat(teams.get(ByteBuffer.wrap(new byte[]{'x'}), 0, 1)).isNull();
+    }
+}
@@ -0,0 +1,75 @@
+package study.querydsl.bulkimport;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 구간마다 별도 커넥션으로 커밋하므로 롤백 없이 실행
+@SpringBootTest
+class MemberCsvImporterTest {
+
+    @Autowired
+    MemberCsvImporter importer;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member where username like 'importTest%'");
+        jdbcTemplate.update("delete from team where name = 'importTeam'");
+    }
+
+    @Test
+    void quotedNewlineAcrossSegmentBoundary() throws IOException {
+        // 여러 줄짜리 username 이 파일 가운데(구간 경계 후보 위치)에 걸치도록 배치
+        StringBuilder multiline = new StringBuilder("importTest multi");
+        for (int i = 0; i < 30; i++) {
+            multiline.append("\nline").append(i);
+        }
+        StringBuilder csv = new StringBuilder("username,age,team_name\n");
+        for (int i = 0; i < 10; i++) {
+            csv.append("importTest").append(i).append(",").append(i).append(",importTeam\n");
+        }
+        csv.append('"').append(multiline).append("\",20,importTeam\n");
+        for (int i = 10; i < 20; i++) {
+            csv.append("importTest").append(i).append(",").append(i).append(",\n");
+        }
+        Path file = Files.write(directory.resolve("members.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        ImportResult result = importer.importFile(file, ImportOptions.builder().threads(4).batchSize(3).build());
+
+        assertThat(result.getErrors()).isZero();
+        assertThat(result.getRows()).isEqualTo(21);
+        List<String> usernames = jdbcTemplate.queryForList(
+                "select username from member where username like 'importTest%'", String.class);
+        assertThat(usernames).hasSize(21).contains(multiline.toString());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from member m join team t on m.team_id = t.team_id"
+                + " where t.name = 'importTeam'", Integer.class)).isEqualTo(11);
+    }
+
+    @Test
+    void rejectsInvalidOptions() throws IOException {
+        Path file = Files.write(directory.resolve("empty.csv"), new byte[0]);
+
+        assertThatThrownBy(() -> importer.importFile(file, ImportOptions.builder().threads(0).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> importer.importFile(file, ImportOptions.builder().batchSize(0).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
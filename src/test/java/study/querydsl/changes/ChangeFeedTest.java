@@ -0,0 +1,145 @@
+package study.querydsl.changes;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static study.querydsl.entity.QMember.member;
+
+// 커밋된 변경만 조회되므로 트랜잭션 롤백 없이 실행
+@SpringBootTest
+class ChangeFeedTest {
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    ChangeFeed changeFeed;
+
+    @Autowired
+    ChangeSequence changeSequence;
+
+    @Autowired
+    JPAQueryFactory queryFactory;
+
+    @Test
+    void watermarkDoesNotConsumeSequence() {
+        long first = changeSequence.watermark();
+        assertThat(changeSequence.watermark()).isEqualTo(first);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long seq = tx.execute(status -> {
+            Member member = new Member("watermarkMember", 10);
+            em.persist(member);
+            em.flush();
+            return member.getChangeSeq();
+        });
+        assertThat(seq).isGreaterThan(first);
+        assertThat(changeSequence.watermark()).isGreaterThanOrEqualTo(seq);
+
+        tx.executeWithoutResult(status -> queryFactory.delete(member)
+                .where(member.username.eq("watermarkMember"))
+                .execute());
+    }
+
+    @Test
+    void changesSince() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long since = changeSequence.watermark();
+
+        Long[] ids = tx.execute(status -> {
+            Team team = new Team("changeTeam");
+            em.persist(team);
+            Member member1 = new Member("changeMember1", 10, team);
+            Member member2 = new Member("changeMember2", 20, team);
+            em.persist(member1);
+            em.persist(member2);
+            return new Long[]{team.getId(), member1.getId(), member2.getId()};
+        });
+        tx.executeWithoutResult(status -> em.find(Member.class, ids[1]).setAge(11));
+        tx.executeWithoutResult(status -> em.remove(em.find(Member.class, ids[2])));
+
+        List<ChangeRecord> records = new ArrayList<>();
+        ChangeCheckpoint checkpoint = changeFeed.stream(since, 100, records::add);
+
+        assertThat(records).extracting(ChangeRecord::getSeq).isSorted();
+        assertThat(records).extracting(ChangeRecord::getType, ChangeRecord::getOp, ChangeRecord::getId)
+                .containsExactly(
+                        tuple("team", "upsert", ids[0]),
+                        tuple("member", "upsert", ids[1]),
+                        tuple("member", "delete", ids[2]));
+        assertThat(records.get(1).getAge()).isEqualTo(11);
+        assertThat(checkpoint.isMore()).isFalse();
+
+        // 이어서 조회하면 새 변경 없음
+        List<ChangeRecord> next = new ArrayList<>();
+        changeFeed.stream(checkpoint.getNext(), 100, next::add);
+        assertThat(next).isEmpty();
+
+        tx.executeWithoutResult(status -> {
+            em.remove(em.find(Member.class, ids[1]));
+            em.remove(em.find(Team.class, ids[0]));
+        });
+    }
+
+    @Test
+    void limit() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        long since = changeSequence.watermark();
+        List<Long> ids = tx.execute(status -> {
+            List<Long> created = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Member member = new Member("changeLimit" + i, i);
+                em.persist(member);
+                created.add(member.getId());
+            }
+            return created;
+        });
+
+        List<ChangeRecord> first = new ArrayList<>();
+        ChangeCheckpoint checkpoint = changeFeed.stream(since, 2, first::add);
+        List<ChangeRecord> second = new ArrayList<>();
+        changeFeed.stream(checkpoint.getNext(), 2, second::add);
+
+        assertThat(checkpoint.isMore()).isTrue();
+        assertThat(first).extracting(ChangeRecord::getId).containsExactly(ids.get(0), ids.get(1));
+        assertThat(second).extracting(ChangeRecord::getId).containsExactly(ids.get(2));
+
+        tx.executeWithoutResult(status -> ids.forEach(id -> em.remove(em.find(Member.class, id))));
+    }
+
+    @Test
+    void bulkUpdateThroughHelper() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Long id = tx.execute(status -> {
+            Member created = new Member("changeBulk", 10);
+            em.persist(created);
+            return created.getId();
+        });
+        long since = changeSequence.watermark();
+
+        tx.executeWithoutResult(status -> changeSequence.updateMembers(queryFactory)
+                .set(member.age, member.age.add(1))
+                .where(member.id.eq(id))
+                .execute());
+
+        List<ChangeRecord> records = new ArrayList<>();
+        changeFeed.stream(since, 100, records::add);
+        assertThat(records).extracting(ChangeRecord::getId, ChangeRecord::getAge).containsExactly(tuple(id, 11));
+
+        tx.executeWithoutResult(status -> em.remove(em.find(Member.class, id)));
+    }
+}
@@ -0,0 +1,94 @@
+package study.querydsl.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * 페이지 인코딩별 크기와 페이지당 CPU 시간
+ * - json: 지금의 /v2/members 응답 (PageImpl 기본 직렬화)
+ * - smile, cbor: 행 단위
+ * - columnar cbor/smile: 열 단위 + 팀 사전
+ * ./gradlew benchmark --tests "*MemberPageCodecBenchmark"
+ */
+@Tag("benchmark")
+class MemberPageCodecBenchmark {
+    private static final int[] PAGE_SIZES = {20, 100, 1000};
+    private static final int TEAMS = 10;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonFactory smileFactory = new SmileFactory();
+    private final JsonFactory cborFactory = new CBORFactory();
+
+    @Test
+    void bytesAndCpuPerPage() throws IOException {
+        for (int size : PAGE_SIZES) {
+            Page<MemberTeamDto> page = page(size);
+            measure("json (PageImpl)", size, out -> objectMapper.writeValue(out, page));
+            measure("smile rows", size, out -> rows(smileFactory, out, page));
+            measure("cbor rows", size, out -> rows(cborFactory, out, page));
+            measure("smile columnar", size, out -> columns(smileFactory, out, page));
+            measure("cbor columnar", size, out -> columns(cborFactory, out, page));
+        }
+    }
+
+    private void measure(String name, int size, Encoder encoder) throws IOException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 16);
+        for (int i = 0; i < WARMUP; i++) {
+            out.reset();
+            encoder.encode(out);
+        }
+
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            out.reset();
+            encoder.encode(out);
+        }
+        long cpuPerPage = (threads.getCurrentThreadCpuTime() - cpuStart) / ITERATIONS;
+        System.out.printf("page size %4d %-16s %,9d bytes %,9d ns cpu/page%n", size, name, out.size(), cpuPerPage);
+    }
+
+    private void rows(JsonFactory factory, ByteArrayOutputStream out, Page<MemberTeamDto> page) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            MemberPageWriter.writeRows(generator, page, page.getContent());
+        }
+    }
+
+    private void columns(JsonFactory factory, ByteArrayOutputStream out, Page<MemberTeamDto> page) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            MemberPageWriter.writeColumns(generator, page, page.getContent());
+        }
+    }
+
+    private Page<MemberTeamDto> page(int size) {
+        List<MemberTeamDto> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long teamId = i % TEAMS + 1;
+            content.add(new MemberTeamDto((long) i + 1, "member" + i, i % 100, teamId, "team" + teamId));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), size * 50L);
+    }
+
+    @FunctionalInterface
+    private interface Encoder {
+        void encode(ByteArrayOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,82 @@
+package study.querydsl.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberPageWriterTest {
+    private final CBORFactory factory = new CBORFactory();
+    private final ObjectMapper mapper = new ObjectMapper(factory);
+
+    private final Page<MemberTeamDto> page = new PageImpl<>(List.of(
+            new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+            new MemberTeamDto(2L, "member2", 20, 2L, "teamB"),
+            new MemberTeamDto(3L, "member3", 30, 1L, "teamA"),
+            new MemberTeamDto(4L, null, 40, null, null)
+    ), PageRequest.of(1, 4), 9);
+
+    @Test
+    void columns() throws IOException {
+        JsonNode node = write(true);
+
+        assertThat(node.get("number").asInt()).isEqualTo(1);
+        assertThat(node.get("totalElements").asLong()).isEqualTo(9);
+        assertThat(node.get("count").asInt()).isEqualTo(4);
+        assertThat(node.get("memberId").toString()).isEqualTo("[1,2,3,4]");
+        assertThat(node.get("username").toString()).isEqualTo("[\"member1\",\"member2\",\"member3\",null]");
+        assertThat(node.get("age").toString()).isEqualTo("[10,20,30,40]");
+        // 팀 이름은 한 번씩만
+        assertThat(node.get("teams").get("id").toString()).isEqualTo("[1,2]");
+        assertThat(node.get("teams").get("name").toString()).isEqualTo("[\"teamA\",\"teamB\"]");
+        assertThat(node.get("team").toString()).isEqualTo("[0,1,0,-1]");
+    }
+
+    @Test
+    void rows() throws IOException {
+        JsonNode node = write(false);
+
+        assertThat(node.get("size").asInt()).isEqualTo(4);
+        assertThat(node.has("pageable")).isFalse();
+        assertThat(node.get("content")).hasSize(4);
+        assertThat(node.get("content").get(2).get("teamName").asText()).isEqualTo("teamA");
+        assertThat(node.get("content").get(3).get("teamId").isNull()).isTrue();
+    }
+
+    @Test
+    void writesMemberTeamDtoContainersOnly() {
+        MemberPageHttpMessageConverter converter = new MemberPageHttpMessageConverter();
+        ResolvableType pageType = ResolvableType.forClassWithGenerics(Page.class, MemberTeamDto.class);
+        ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, MemberTeamDto.class);
+        ResolvableType nestedType = ResolvableType.forClassWithGenerics(List.class, listType);
+
+        assertThat(converter.canWrite(pageType.getType(), PageImpl.class, MemberPageHttpMessageConverter.CBOR)).isTrue();
+        assertThat(converter.canWrite(listType.getType(), List.class, MemberPageHttpMessageConverter.COLUMNAR_SMILE)).isTrue();
+        assertThat(converter.canWrite(nestedType.getType(), List.class, MemberPageHttpMessageConverter.CBOR)).isFalse();
+        assertThat(converter.canWrite(PageImpl.class, MemberPageHttpMessageConverter.CBOR)).isFalse();
+    }
+
+    private JsonNode write(boolean columnar) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = factory.createGenerator(out)) {
+            if (columnar) {
+                MemberPageWriter.writeColumns(generator, page, page.getContent());
+            } else {
+                MemberPageWriter.writeRows(generator, page, page.getContent());
+            }
+        }
+        return mapper.readTree(out.toByteArray());
+    }
+}
@@ -1,5 +1,6 @@
 package study.querydsl.entity;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Commit;
@@ -9,6 +10,8 @@ import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @Transactional
 class MemberTest {
@@ -41,4 +44,58 @@ class MemberTest {
             System.out.println("member.getTeam() = " + member.getTeam());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void changeTeamDoesNotLoadMembers() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.persist(new Member("member2", 20, teamA));
+        em.flush();
+        em.clear();
+
+        Team team = em.find(Team.class, teamA.getId());
+        Member member3 = new Member("member3", 30, team);
+        em.persist(member3);
+        assertThat(Hibernate.isInitialized(team.getMembers())).isFalse();
+
+        // flush 후에는 DB 에서 읽으므로 추가분이 반영됨
+        em.flush();
+        assertThat(team.getMembers().size()).isEqualTo(3);
+        assertThat(Hibernate.isInitialized(team.getMembers())).isFalse();
+
+        Team other = em.find(Team.class, teamB.getId());
+        member3.changeTeam(other);
+        em.flush();
+        em.clear();
+
+        assertThat(em.find(Team.class, teamA.getId()).getMembers()).hasSize(2);
+        assertThat(em.find(Team.class, teamB.getId()).getMembers())
+                .extracting("username").containsExactly("member3");
+    }
+
+    @Test
+    void addThenMoveBeforeFlush() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        em.persist(teamA);
+        em.persist(teamB);
+        em.persist(new Member("member1", 10, teamA));
+        em.flush();
+        em.clear();
+
+        Team team = em.find(Team.class, teamA.getId());
+        Team other = em.find(Team.class, teamB.getId());
+        Member member2 = new Member("member2", 20, team);
+        em.persist(member2);
+        member2.changeTeam(other);
+        em.flush();
+
+        // 같은 영속성 컨텍스트에서 로딩해도 옮기기 전 팀에 남아 있지 않아야 함
+        assertThat(team.getMembers()).extracting("username").containsExactly("member1");
+        assertThat(other.getMembers()).extracting("username").containsExactly("member2");
+        assertThat(member2.getTeam()).isSameAs(other);
+    }
+}
@@ -0,0 +1,104 @@
+package study.querydsl.entity;
+
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 팀 규모별 회원 1명 추가 지연시간 측정
+ * - lazy: Team.members 를 로딩하지 않는 현재 방식
+ * - initialized: 예전처럼 컬렉션을 먼저 로딩한 뒤 추가
+ * ./gradlew benchmark --tests "*TeamMembershipBenchmark"
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=info"
+})
+class TeamMembershipBenchmark {
+    private static final int[] TEAM_SIZES = {1_000, 10_000, 100_000};
+    private static final int INSERTS = 20;
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    private final List<Long> teamIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long teamId : teamIds) {
+            jdbcTemplate.update("delete from member where team_id = ?", teamId);
+            jdbcTemplate.update("delete from team where team_id = ?", teamId);
+        }
+        teamIds.clear();
+    }
+
+    @Test
+    void insertLatencyByTeamSize() {
+        for (int size : TEAM_SIZES) {
+            Long teamId = seedTeam(size);
+            // 첫 회는 워밍업
+            for (int i = 0; i < 2; i++) {
+                measure(teamId, size, "lazy", false);
+                measure(teamId, size, "initialized", true);
+            }
+        }
+    }
+
+    private void measure(Long teamId, int size, String name, boolean initialize) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long total = 0;
+        for (int i = 0; i < INSERTS; i++) {
+            total += transaction.execute(status -> {
+                long start = System.nanoTime();
+                Team team = em.find(Team.class, teamId);
+                if (initialize) {
+                    Hibernate.initialize(team.getMembers());
+                }
+                em.persist(new Member("added", 0, team));
+                em.flush();
+                long elapsed = System.nanoTime() - start;
+                em.clear();
+                return elapsed;
+            });
+        }
+        System.out.printf("team size %,7d %-12s avg %,8dus per insert%n",
+                size, name, TimeUnit.NANOSECONDS.toMicros(total / INSERTS));
+    }
+
+    private Long seedTeam(int size) {
+        Long teamId = jdbcTemplate.queryForObject("select next value for hibernate_sequence", Long.class);
+        jdbcTemplate.update("insert into team (team_id, name, change_seq)"
+                + " values (?, ?, next value for change_sequence)", teamId, "team" + size);
+        teamIds.add(teamId);
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < size; i++) {
+            batch.add(new Object[]{"member" + i, i % 100, teamId});
+            if (batch.size() == BATCH_SIZE || i == size - 1) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, team_id, change_seq)"
+                        + " values (next value for hibernate_sequence, ?, ?, ?, next value for change_sequence)", batch);
+                batch.clear();
+            }
+        }
+        return teamId;
+    }
+}
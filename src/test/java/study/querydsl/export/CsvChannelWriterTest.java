@@ -0,0 +1,43 @@
+package study.querydsl.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvChannelWriterTest {
+
+    @Test
+    void writeRows(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("members.csv");
+        // 버퍼보다 긴 출력도 위치 지정 쓰기로 이어서 기록되어야 함
+        CsvChannelWriter writer = new CsvChannelWriter(8);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            writer.open(channel, 0);
+            writer.writeLong(1L);
+            writer.separator();
+            writer.writeString("회원,\"1\"");
+            writer.separator();
+            writer.writeLong(-20L);
+            writer.separator();
+            writer.writeLong(null);
+            writer.separator();
+            writer.writeString(null);
+            writer.endRow();
+            long written = writer.close();
+
+            assertThat(written).isEqualTo(Files.size(file));
+        }
+
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8))
+                .isEqualTo("1,\"회원,\"\"1\"\"\",-20,,\n");
+    }
+}
@@ -0,0 +1,122 @@
+package study.querydsl.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 파티션은 별도 StatelessSession 으로 읽으므로 커밋된 데이터로 실행
+@SpringBootTest
+class MemberCsvExporterTest {
+
+    @Autowired
+    MemberCsvExporter exporter;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("exportTeam");
+            em.persist(team);
+            for (int i = 0; i < 6; i++) {
+                em.persist(new Member("exportMember" + i, i, i % 2 == 0 ? team : null));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username like 'exportMember%'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'exportTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void partitionedFiles() throws IOException {
+        ExportResult result = exporter.export(directory.resolve("members.csv"),
+                ExportOptions.builder().partitions(3).threads(2).singleFile(false).build());
+
+        assertThat(result.getFiles()).hasSize(3);
+        List<String> rows = new ArrayList<>();
+        for (String file : result.getFiles()) {
+            List<String> lines = Files.readAllLines(Paths.get(file));
+            // 파티션 파일마다 헤더
+            assertThat(lines.get(0) + "\n").isEqualTo(MemberCsvExporter.HEADER);
+            rows.addAll(lines.subList(1, lines.size()));
+        }
+        assertThat(rows).hasSize(memberCount());
+        assertThat(result.getRows()).isEqualTo(memberCount());
+        assertThat(rows).filteredOn(row -> row.contains(",exportMember")).hasSize(6);
+        assertThat(rows).anyMatch(row -> row.endsWith(",exportMember0,0," + teamId() + ",exportTeam"));
+    }
+
+    @Test
+    void singleFileMerge() throws IOException {
+        Path target = directory.resolve("members.csv");
+        ExportResult result = exporter.export(target,
+                ExportOptions.builder().partitions(3).threads(2).singleFile(true).build());
+
+        assertThat(result.getFiles()).containsExactly(target.toString());
+        List<String> lines = Files.readAllLines(target);
+        assertThat(lines.get(0) + "\n").isEqualTo(MemberCsvExporter.HEADER);
+        assertThat(lines.subList(1, lines.size())).hasSize(memberCount())
+                .noneMatch(line -> line.startsWith("member_id"));
+        assertThat(result.getBytes()).isEqualTo(Files.size(target));
+        // 파티션 파일은 합친 뒤 삭제
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(target);
+        }
+    }
+
+    @Test
+    void rejectsInvalidOptions() {
+        Path target = directory.resolve("members.csv");
+        assertThatThrownBy(() -> exporter.export(target, ExportOptions.builder().threads(0).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> exporter.export(target,
+                ExportOptions.builder().partitions(ExportOptions.MAX_PARTITIONS + 1).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private int memberCount() {
+        return jdbcTemplate.queryForObject("select count(*) from member", Integer.class);
+    }
+
+    private Long teamId() {
+        return jdbcTemplate.queryForObject("select team_id from team where name = 'exportTeam'", Long.class);
+    }
+}
@@ -0,0 +1,60 @@
+package study.querydsl.heavyhitter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import study.querydsl.dto.MemberSearchCondition;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchHeavyHittersTest {
+
+    @Test
+    void topK() {
+        SearchHeavyHitters heavyHitters = new SearchHeavyHitters(new SimpleMeterRegistry(), true, 4, 1024, 8);
+        for (int i = 0; i < 1000; i++) {
+            heavyHitters.record(SearchKey.v1(MemberSearchCondition.builder().teamName("teamA").build()));
+            if (i % 2 == 0) {
+                heavyHitters.record(SearchKey.v1(MemberSearchCondition.builder().ageGoe(30).build()));
+            }
+            // 한 번씩만 나오는 조건
+            heavyHitters.record(SearchKey.v1(MemberSearchCondition.builder().username("member" + i).build()));
+        }
+
+        List<HeavyHitter> top = heavyHitters.top(2);
+        assertThat(top).extracting(HeavyHitter::getTeamName).containsExactly("teamA", null);
+        assertThat(top.get(0).getEstimatedCount()).isGreaterThanOrEqualTo(1000);
+        assertThat(top.get(1).getAgeGoe()).isEqualTo(30);
+        assertThat(top.get(1).getEstimatedCount()).isGreaterThanOrEqualTo(500);
+    }
+
+    @Test
+    void normalize() {
+        SearchHeavyHitters heavyHitters = new SearchHeavyHitters(new SimpleMeterRegistry(), true, 4, 1024, 8);
+        heavyHitters.record(SearchKey.v2(MemberSearchCondition.builder().teamName(" teamA ").username("").build(),
+                PageRequest.of(0, 20, Sort.by("username"))));
+        heavyHitters.record(SearchKey.v2(MemberSearchCondition.builder().teamName("teamA").build(),
+                PageRequest.of(3, 20, Sort.by("username"))));
+
+        List<SearchKey> keys = heavyHitters.topKeys(10);
+        assertThat(keys).hasSize(1);
+        assertThat(keys.get(0).toPageable()).isEqualTo(PageRequest.of(0, 20, Sort.by("username")));
+        assertThat(heavyHitters.top(10).get(0).getEstimatedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void decay() {
+        SearchHeavyHitters heavyHitters = new SearchHeavyHitters(new SimpleMeterRegistry(), true, 4, 1024, 8);
+        SearchKey key = SearchKey.v1(MemberSearchCondition.builder().teamName("teamA").build());
+        for (int i = 0; i < 10; i++) {
+            heavyHitters.record(key);
+        }
+
+        heavyHitters.decay();
+
+        assertThat(heavyHitters.top(1).get(0).getEstimatedCount()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,55 @@
+package study.querydsl.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdLimiterTest {
+
+    @Test
+    void rejectOverLimit() throws InterruptedException {
+        AimdLimiter limiter = new AimdLimiter("test", group(2), new SimpleMeterRegistry());
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void decreaseOnSlowResponse() throws InterruptedException {
+        AimdLimiter limiter = new AimdLimiter("test", group(10), new SimpleMeterRegistry());
+
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.SECONDS.toNanos(1), true);
+
+        assertThat(limiter.getLimit()).isEqualTo(5);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void increaseWhenSaturated() throws InterruptedException {
+        AimdLimiter limiter = new AimdLimiter("test", group(2), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), true);
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(1), true);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(2);
+    }
+
+    private LimiterProperties.Group group(int initialLimit) {
+        LimiterProperties.Group group = new LimiterProperties.Group();
+        group.setInitialLimit(initialLimit);
+        group.setLatencyThreshold(Duration.ofMillis(100));
+        group.setBackoffRatio(0.5);
+        return group;
+    }
+}
@@ -0,0 +1,26 @@
+package study.querydsl.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// 부하 테스트 요청 종류, {team} {age} {member} {page} 는 요청마다 무작위 값으로 치환
+enum LoadScenario {
+    V1_TEAM("/v1/members?teamName=team{team}&ageGoe={age}"),
+    V1_USERNAME("/v1/members?username=member{member}"),
+    V2_PAGE("/v2/members?page={page}&size=20"),
+    V2_FILTER("/v2/members?teamName=team{team}&ageLoe={age}&page=0&size=20");
+
+    private final String template;
+
+    LoadScenario(String template) {
+        this.template = template;
+    }
+
+    String path(int teams, int members) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return template
+                .replace("{team}", String.valueOf(random.nextInt(teams)))
+                .replace("{age}", String.valueOf(random.nextInt(100)))
+                .replace("{member}", String.valueOf(random.nextInt(members)))
+                .replace("{page}", String.valueOf(random.nextInt(Math.max(1, members / 20))));
+    }
+}
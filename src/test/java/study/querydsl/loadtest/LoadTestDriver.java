@@ -0,0 +1,129 @@
+package study.querydsl.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * 고정 개수의 클라이언트 스레드가 가중치에 따라 요청을 섞어 보내고 지연시간을 HdrHistogram 에 기록
+ * closed-loop 방식이므로 응답이 느려지면 요청률도 같이 낮아짐
+ */
+class LoadTestDriver {
+    private final String baseUrl;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<LoadScenario, Integer> mix;
+    private final int teams;
+    private final int members;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<LoadScenario, Recorder> recorders = new EnumMap<>(LoadScenario.class);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    LoadTestDriver(String baseUrl, int threads, Duration warmup, Duration duration,
+                   Map<LoadScenario, Integer> mix, int teams, int members) {
+        this.baseUrl = baseUrl;
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.mix = mix;
+        this.teams = teams;
+        this.members = members;
+        for (LoadScenario scenario : mix.keySet()) {
+            // 1us ~ 1min, 유효숫자 3자리
+            recorders.put(scenario, new Recorder(TimeUnit.MINUTES.toMicros(1), 3));
+        }
+    }
+
+    // "V1_TEAM:3,V2_PAGE:1" 형식
+    static Map<LoadScenario, Integer> parseMix(String mix) {
+        Map<LoadScenario, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(LoadScenario.valueOf(parts[0].trim()), parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1);
+        }
+        return weights;
+    }
+
+    LoadTestReport run() throws InterruptedException {
+        runFor(warmup);
+        // 워밍업 구간의 기록은 버림
+        recorders.values().forEach(Recorder::reset);
+        statuses.clear();
+
+        long start = System.nanoTime();
+        runFor(duration);
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<LoadScenario, Histogram> histograms = new EnumMap<>(LoadScenario.class);
+        recorders.forEach((scenario, recorder) -> histograms.put(scenario, recorder.getIntervalHistogram()));
+        Map<Integer, Long> statusCounts = new LinkedHashMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        return new LoadTestReport(threads, elapsedNanos, histograms, statusCounts);
+    }
+
+    private void runFor(Duration period) throws InterruptedException {
+        if (period.isZero()) {
+            return;
+        }
+        long deadline = System.nanoTime() + period.toNanos();
+        List<LoadScenario> weighted = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    LoadScenario scenario = weighted.get(ThreadLocalRandom.current().nextInt(weighted.size()));
+                    send(scenario);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(period.toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+    }
+
+    private void send(LoadScenario scenario) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + scenario.path(teams, members)))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        recorders.get(scenario).recordValue(Math.min(micros, TimeUnit.MINUTES.toMicros(1)));
+        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+}
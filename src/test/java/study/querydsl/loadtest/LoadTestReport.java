@@ -0,0 +1,60 @@
+package study.querydsl.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+class LoadTestReport {
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final int threads;
+    private final long elapsedNanos;
+    private final Map<LoadScenario, Histogram> histograms;
+    private final Map<Integer, Long> statuses;
+
+    LoadTestReport(int threads, long elapsedNanos, Map<LoadScenario, Histogram> histograms, Map<Integer, Long> statuses) {
+        this.threads = threads;
+        this.elapsedNanos = elapsedNanos;
+        this.histograms = histograms;
+        this.statuses = statuses;
+    }
+
+    void print(PrintStream out) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        Histogram total = new Histogram(3);
+        histograms.values().forEach(total::add);
+
+        out.printf("threads=%d duration=%.1fs statuses=%s%n", threads, seconds, statuses);
+        out.printf("%-12s %10s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        histograms.forEach((scenario, histogram) -> printRow(out, scenario.name(), histogram, seconds));
+        printRow(out, "TOTAL", total, seconds);
+    }
+
+    // HdrHistogram percentile distribution 형식(.hgrm), 실행 간 비교나 HistogramPlotter 에 사용
+    void write(Path directory, String runName) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<LoadScenario, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(runName + "-" + entry.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, double seconds) {
+        out.printf("%-12s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                seconds > 0 ? histogram.getTotalCount() / seconds : 0,
+                histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(95) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+}
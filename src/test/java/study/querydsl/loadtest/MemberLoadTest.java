@@ -0,0 +1,61 @@
+package study.querydsl.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/*
+ * /v1/members, /v2/members 부하 테스트
+ * ./gradlew benchmark --tests "*MemberLoadTest" -Dloadtest.threads=32 -Dmember.seed.members=1000000
+ * 결과는 콘솔 표와 build/loadtest/*.hgrm 으로 남김
+ * 테스트용 application.yml 에는 member.* 설정이 없으므로 main 과 같은 member.yml 을 읽고, 워밍업도 main 처럼 켬
+ */
+@Tag("benchmark")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.config.import=classpath:member.yml",
+        "member.warmup.enabled=true"
+})
+class MemberLoadTest {
+    @LocalServerPort
+    int port;
+
+    @Value("${member.seed.teams}")
+    int teams;
+
+    @Value("${member.seed.members}")
+    int members;
+
+    @Value("${loadtest.threads:16}")
+    int threads;
+
+    @Value("${loadtest.warmup:10s}")
+    Duration warmup;
+
+    @Value("${loadtest.duration:30s}")
+    Duration duration;
+
+    @Value("${loadtest.mix:V1_TEAM:3,V1_USERNAME:3,V2_PAGE:2,V2_FILTER:2}")
+    String mix;
+
+    @Test
+    void memberEndpoints() throws Exception {
+        LoadTestDriver driver = new LoadTestDriver("http://localhost:" + port, threads, warmup, duration,
+                LoadTestDriver.parseMix(mix), teams, members);
+
+        LoadTestReport report = driver.run();
+
+        report.print(System.out);
+        String runName = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + "-t" + threads + "-m" + members;
+        report.write(Paths.get("build", "loadtest"), runName);
+    }
+}
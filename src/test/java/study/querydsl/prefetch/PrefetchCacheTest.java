@@ -0,0 +1,96 @@
+package study.querydsl.prefetch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefetchCacheTest {
+    private static final long TTL = TimeUnit.SECONDS.toNanos(10);
+
+    @Test
+    void takeOnce() throws InterruptedException {
+        PrefetchCache cache = new PrefetchCache(TTL, 1 << 20);
+        PageKey key = key(1);
+        Page<MemberTeamDto> page = page();
+
+        PrefetchCache.Entry entry = cache.reserve(key);
+        assertThat(cache.reserve(key)).isNull();
+        assertThat(cache.complete(key, entry, page)).isTrue();
+        assertThat(cache.usedBytes()).isEqualTo(PrefetchCache.estimateBytes(page));
+
+        assertThat(cache.take(key, 0)).isSameAs(page);
+        assertThat(cache.take(key, 0)).isNull();
+        assertThat(cache.usedBytes()).isZero();
+    }
+
+    @Test
+    void rejectOverBudget() throws InterruptedException {
+        Page<MemberTeamDto> page = page();
+        PrefetchCache cache = new PrefetchCache(TTL, PrefetchCache.estimateBytes(page));
+
+        PageKey first = key(1);
+        PageKey second = key(2);
+        assertThat(cache.complete(first, cache.reserve(first), page)).isTrue();
+        assertThat(cache.complete(second, cache.reserve(second), page)).isFalse();
+
+        assertThat(cache.take(second, 0)).isNull();
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void abandonedWhileLoading() throws InterruptedException {
+        PrefetchCache cache = new PrefetchCache(TTL, 1 << 20);
+        PageKey key = key(1);
+        PrefetchCache.Entry entry = cache.reserve(key);
+
+        // 읽기가 끝나기 전에 요청이 와서 기다리다 포기
+        assertThat(cache.take(key, TimeUnit.MILLISECONDS.toNanos(10))).isNull();
+        cache.complete(key, entry, page());
+
+        assertThat(cache.usedBytes()).isZero();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void expire() throws InterruptedException {
+        PrefetchCache cache = new PrefetchCache(0, 1 << 20);
+        PageKey key = key(1);
+        cache.complete(key, cache.reserve(key), page());
+        Thread.sleep(1);
+
+        assertThat(cache.evictExpired()).isEqualTo(1);
+        assertThat(cache.usedBytes()).isZero();
+    }
+
+    @Test
+    void keyKeepsExecutedCondition() {
+        PageRequest pageable = PageRequest.of(1, 2);
+        PageKey trimmed = PageKey.of(MemberSearchCondition.builder().username("member1").build(), pageable);
+        PageKey padded = PageKey.of(MemberSearchCondition.builder().username("member1 ").build(), pageable);
+
+        // 공백이 붙은 조건은 다른 결과이므로 다른 키
+        assertThat(padded).isNotEqualTo(trimmed);
+        assertThat(padded.next().toCondition().getUsername()).isEqualTo("member1 ");
+        assertThat(PageKey.of(MemberSearchCondition.builder().username("").build(), pageable))
+                .isEqualTo(PageKey.of(new MemberSearchCondition(), pageable));
+    }
+
+    private PageKey key(int pageNumber) {
+        MemberSearchCondition condition = MemberSearchCondition.builder().teamName("teamA").build();
+        return PageKey.of(condition, PageRequest.of(pageNumber, 2));
+    }
+
+    private Page<MemberTeamDto> page() {
+        return new PageImpl<>(List.of(
+                new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+                new MemberTeamDto(2L, "member2", 20, 1L, "teamA")), PageRequest.of(1, 2), 10);
+    }
+}
@@ -0,0 +1,61 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.ExpressionException;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.UserDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+class GeneratedProjectionsTest {
+
+    @Test
+    void bean() {
+        GeneratedProjection<MemberDto> projection = GeneratedProjections.bean(MemberDto.class, member.username, member.age);
+
+        assertThat(projection.newInstance("member1", 10)).isEqualTo(new MemberDto("member1", 10));
+        // QBean 과 같이 null 은 대입하지 않음 (int 필드는 기본값)
+        assertThat(projection.newInstance("member1", null)).isEqualTo(new MemberDto("member1", 0));
+    }
+
+    @Test
+    void fields() {
+        GeneratedProjection<MemberDto> projection = GeneratedProjections.fields(MemberDto.class,
+                member.username, member.age.as("age"));
+
+        assertThat(projection.newInstance("member1", 10)).isEqualTo(new MemberDto("member1", 10));
+    }
+
+    @Test
+    void constructor() {
+        // Integer 인자로 int 파라미터 생성자 선택
+        GeneratedProjection<MemberDto> memberDto = GeneratedProjections.constructor(MemberDto.class,
+                member.username, member.age);
+        GeneratedProjection<UserDto> userDto = GeneratedProjections.constructor(UserDto.class,
+                member.username.as("name"), member.age);
+
+        assertThat(memberDto.newInstance("member1", 10)).isEqualTo(new MemberDto("member1", 10));
+        assertThat(userDto.newInstance("member1", 10)).hasFieldOrPropertyWithValue("name", "member1");
+    }
+
+    @Test
+    void mapperIsGeneratedOncePerSignature() {
+        GeneratedProjection<MemberDto> first = GeneratedProjections.bean(MemberDto.class, member.username, member.age);
+        int cached = GeneratedProjections.cachedMappers();
+        GeneratedProjection<MemberDto> second = GeneratedProjections.bean(MemberDto.class, member.username, member.age);
+
+        assertThat(GeneratedProjections.cachedMappers()).isEqualTo(cached);
+        assertThat(second).isEqualTo(first);
+        assertThat(GeneratedProjections.fields(MemberDto.class, member.username, member.age)).isNotEqualTo(first);
+    }
+
+    @Test
+    void unknownProperty() {
+        assertThatThrownBy(() -> GeneratedProjections.bean(MemberDto.class, member.username.as("name")))
+                .isInstanceOf(ExpressionException.class);
+        assertThatThrownBy(() -> GeneratedProjections.constructor(MemberDto.class, member.age))
+                .isInstanceOf(ExpressionException.class);
+    }
+}
@@ -0,0 +1,131 @@
+package study.querydsl.projection;
+
+import com.querydsl.core.types.FactoryExpression;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberDto;
+import study.querydsl.dto.QMemberDto;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+
+/*
+ * MemberDto 1,000,000건 변환 방식별 비용
+ * - Projections.bean/fields/constructor (행마다 리플렉션), @QueryProjection (생성된 QMemberDto)
+ * - GeneratedProjections.bean/fields/constructor (DTO 별로 만든 변환기)
+ * materialize: 미리 읽어 둔 행(Object[])을 newInstance 로만 변환, DB/Hibernate 비용 제외
+ * fetch: 실제 쿼리로 1,000,000건 조회
+ * ./gradlew benchmark --tests "*ProjectionBenchmark"
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=info",
+        // 적재 시 전문 검색 트리거 비용 제외
+        "member.full-text.enabled=false"
+})
+class ProjectionBenchmark {
+    private static final int MEMBER_COUNT = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int MATERIALIZE_RUNS = 10;
+    private static final int FETCH_RUNS = 3;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            batch.add(new Object[]{"member" + i, i % 100});
+            if (batch.size() == BATCH_SIZE || i == MEMBER_COUNT - 1) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, change_seq)"
+                        + " values (next value for hibernate_sequence, ?, ?, next value for change_sequence)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member");
+    }
+
+    @Test
+    void materializationStyles() {
+        Map<String, FactoryExpression<MemberDto>> projections = new LinkedHashMap<>();
+        projections.put("Projections.bean", Projections.bean(MemberDto.class, member.username, member.age));
+        projections.put("Projections.fields", Projections.fields(MemberDto.class, member.username, member.age));
+        projections.put("Projections.constructor", Projections.constructor(MemberDto.class, member.username, member.age));
+        projections.put("@QueryProjection", new QMemberDto(member.username, member.age));
+        projections.put("generated bean", GeneratedProjections.bean(MemberDto.class, member.username, member.age));
+        projections.put("generated fields", GeneratedProjections.fields(MemberDto.class, member.username, member.age));
+        projections.put("generated constructor", GeneratedProjections.constructor(MemberDto.class, member.username, member.age));
+
+        List<Object[]> rows = jdbcTemplate.query("select username, age from member",
+                (rs, rowNum) -> new Object[]{rs.getString(1), rs.getInt(2)});
+        // 첫 회는 워밍업
+        for (int i = 0; i < 2; i++) {
+            projections.forEach((name, projection) -> materialize(name, projection, rows));
+        }
+        for (int i = 0; i < 2; i++) {
+            projections.forEach(this::fetch);
+        }
+    }
+
+    private void materialize(String name, FactoryExpression<MemberDto> projection, List<Object[]> rows) {
+        long total = 0;
+        long checksum = 0;
+        for (int run = 0; run < MATERIALIZE_RUNS; run++) {
+            long start = System.nanoTime();
+            for (Object[] row : rows) {
+                checksum += projection.newInstance(row).getAge();
+            }
+            total += System.nanoTime() - start;
+        }
+        System.out.printf("materialize %-22s avg %,6dms per %,d rows (%d)%n",
+                name, TimeUnit.NANOSECONDS.toMillis(total / MATERIALIZE_RUNS), rows.size(), checksum);
+    }
+
+    private void fetch(String name, FactoryExpression<MemberDto> projection) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+            long total = 0;
+            int size = 0;
+            for (int run = 0; run < FETCH_RUNS; run++) {
+                long start = System.nanoTime();
+                size = queryFactory
+                        .select(projection)
+                        .from(member)
+                        .fetch()
+                        .size();
+                total += System.nanoTime() - start;
+            }
+            System.out.printf("fetch       %-22s avg %,6dms per %,d rows%n",
+                    name, TimeUnit.NANOSECONDS.toMillis(total / FETCH_RUNS), size);
+        });
+    }
+}
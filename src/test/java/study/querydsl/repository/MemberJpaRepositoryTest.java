@@ -95,4 +95,37 @@ class MemberJpaRepositoryTest {
                 .extracting("username")
                 .contains("member4");
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchBatchTest() {
+        List<MemberSearchCondition> conditions = List.of(
+                MemberSearchCondition.builder().username("member1").build(),
+                MemberSearchCondition.builder().username("member3").build(),
+                MemberSearchCondition.builder().teamName("teamB").build(),
+                MemberSearchCondition.builder().ageGoe(30).ageLoe(20).build());
+
+        List<List<MemberTeamDto>> result = memberJpaRepository.searchBatchByBuilder(conditions);
+
+        assertThat(result).hasSize(4);
+        assertThat(result.get(0)).extracting("username").containsExactly("member1");
+        assertThat(result.get(1)).extracting("username").containsExactly("member3");
+        assertThat(result.get(2)).extracting("username").containsExactlyInAnyOrder("member3", "member4");
+        assertThat(result.get(3)).isEmpty();
+    }
+
+    @Test
+    void searchBatchWithBlankCondition() {
+        // 빈 문자열은 조건 없음과 같음
+        List<MemberSearchCondition> conditions = List.of(
+                MemberSearchCondition.builder().username("").teamName("teamB").build(),
+                MemberSearchCondition.builder().username("member1").teamName("").build(),
+                MemberSearchCondition.builder().username(" ").teamName("").ageGoe(40).build());
+
+        List<List<MemberTeamDto>> result = memberJpaRepository.searchBatchByBuilder(conditions);
+
+        assertThat(result).hasSize(3).doesNotContainNull();
+        assertThat(result.get(0)).extracting("username").containsExactlyInAnyOrder("member3", "member4");
+        assertThat(result.get(1)).extracting("username").containsExactly("member1");
+        assertThat(result.get(2)).extracting("username").containsExactly("member4");
+    }
+}
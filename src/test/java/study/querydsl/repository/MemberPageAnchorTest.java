@@ -0,0 +1,120 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.PageAnchorCache;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 앵커는 커밋된 데이터로만 기록되므로 트랜잭션 롤백 없이 실행
+@SpringBootTest(properties = "member.page-anchor.interval=2")
+class MemberPageAnchorTest {
+    private static final MemberSearchCondition CONDITION = MemberSearchCondition.builder().teamName("anchorTeam").build();
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @Autowired
+    PageAnchorCache pageAnchorCache;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("anchorTeam");
+            em.persist(team);
+            // 나이가 겹치는 행이 있어야 id 로 동률을 끊는지 확인됨
+            for (int i = 0; i < 10; i++) {
+                em.persist(new Member("anchor" + i, (i % 4) * 10, team));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.team.id in"
+                    + " (select t.id from Team t where t.name = 'anchorTeam')").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'anchorTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void deepPagesMatchOffsetPages() {
+        for (Sort sort : List.of(Sort.unsorted(), Sort.by("age"), Sort.by(Sort.Direction.DESC, "age"),
+                Sort.by(Sort.Direction.DESC, "id"))) {
+            // 처음 훑을 때 앵커가 기록됨
+            List<String> expected = new ArrayList<>();
+            for (int page = 0; page < 4; page++) {
+                expected.addAll(usernames(page, 3, sort));
+            }
+            assertThat(expected).hasSize(10).doesNotHaveDuplicates();
+
+            // 앵커에서 seek 해도 같은 결과
+            assertThat(usernames(3, 3, sort)).isEqualTo(expected.subList(9, 10));
+            assertThat(usernames(1, 4, sort)).isEqualTo(expected.subList(4, 8));
+            assertThat(usernames(2, 3, sort)).isEqualTo(expected.subList(6, 9));
+        }
+    }
+
+    @Test
+    void invalidatedByCommit() {
+        usernames(0, 10, Sort.by("age"));
+        long version = pageAnchorCache.version();
+
+        tx.executeWithoutResult(status -> em.createQuery("select m from Member m where m.username = 'anchor0'", Member.class)
+                .getSingleResult()
+                .setAge(99));
+
+        assertThat(pageAnchorCache.version()).isGreaterThan(version);
+        List<String> page = usernames(3, 3, Sort.by("age"));
+        assertThat(page).containsExactly("anchor0");
+    }
+
+    @Test
+    void invalidatedByBulkDelete() {
+        Sort byId = Sort.by("id");
+        for (int page = 0; page < 4; page++) {
+            usernames(page, 3, byId);
+        }
+        long version = pageAnchorCache.version();
+
+        // ChangeSequence 를 거치지 않는 벌크 삭제는 version 을 바꾸지 않음
+        tx.executeWithoutResult(status ->
+                em.createQuery("delete from Member m where m.username = 'anchor1'").executeUpdate());
+
+        assertThat(pageAnchorCache.version()).isEqualTo(version);
+        assertThat(usernames(2, 3, byId)).containsExactly("anchor7", "anchor8", "anchor9");
+    }
+
+    private List<String> usernames(int page, int size, Sort sort) {
+        List<String> usernames = new ArrayList<>();
+        for (MemberTeamDto dto : memberRepository.searchPageSimple(CONDITION, PageRequest.of(page, size, sort))) {
+            usernames.add(dto.getUsername());
+        }
+        return usernames;
+    }
+}
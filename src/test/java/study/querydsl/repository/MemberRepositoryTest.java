@@ -7,6 +7,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberFields;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
@@ -15,6 +16,7 @@ import study.querydsl.entity.Team;
 
 import javax.persistence.EntityManager;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static study.querydsl.entity.QMember.member;
@@ -92,6 +94,56 @@ class MemberRepositoryTest {
                 .containsExactly("member1", "member2", "member3");
     }
 
+    @Test
+    void searchPageContradiction() {
+        MemberSearchCondition condition = MemberSearchCondition.builder()
+                .ageGoe(30)
+                .ageLoe(20)
+                .build();
+
+        Page<MemberTeamDto> result = memberRepository.searchPageSimple(condition, PageRequest.of(0, 3));
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isEqualTo(0);
+    }
+
+    @Test
+    void searchPageByTeamName() {
+        MemberSearchCondition condition = MemberSearchCondition.builder()
+                .teamName("teamB")
+                .build();
+
+        Page<MemberTeamDto> result = memberRepository.searchPageSimple(condition, PageRequest.of(0, 3));
+
+        assertThat(result.getContent()).extracting("username")
+                .containsExactlyInAnyOrder("member3", "member4");
+        assertThat(result.getContent()).extracting("teamName")
+                .containsOnly("teamB");
+    }
+
+    @Test
+    void searchPageUnknownTeam() {
+        MemberSearchCondition condition = MemberSearchCondition.builder()
+                .teamName("teamX")
+                .build();
+
+        Page<MemberTeamDto> result = memberRepository.searchPageSimple(condition, PageRequest.of(0, 3));
+
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.getTotalElements()).isEqualTo(0);
+    }
+
+    @Test
+    void searchUnflushedTeam() {
+        Team teamC = new Team("teamC");
+        em.persist(teamC);
+        em.persist(new Member("member5", 50, teamC));
+
+        List<MemberTeamDto> result = memberRepository.search(MemberSearchCondition.builder().teamName("teamC").build());
+
+        assertThat(result).extracting("username").containsExactly("member5");
+    }
+
     @Test
     void querydslPredicateExecutor() {
         Iterable<Member> result = memberRepository.findAll(member.age.between(10, 40).and(member.username.eq("member1")));
@@ -99,4 +151,42 @@ class MemberRepositoryTest {
             System.out.println("findMember = " + findMember);
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchFields() {
+        MemberSearchCondition condition = MemberSearchCondition.builder().teamName("teamB").build();
+
+        List<Map<String, Object>> result = memberRepository.searchFields(condition, MemberFields.parse("username, memberId"));
+
+        // 요청 순서와 관계없이 같은 필드 구성
+        assertThat(MemberFields.parse("username, memberId")).isEqualTo(MemberFields.parse("memberId,username"));
+        assertThat(result).hasSize(2);
+        assertThat(result).allSatisfy(row -> assertThat(row).containsOnlyKeys("memberId", "username"));
+        assertThat(result).extracting(row -> row.get("username")).containsExactlyInAnyOrder("member3", "member4");
+    }
+
+    @Test
+    void searchPageFieldsWithTeamName() {
+        Page<Map<String, Object>> result = memberRepository.searchPageFields(MemberSearchCondition.builder().build(),
+                PageRequest.of(0, 3), MemberFields.parse("username,teamName"));
+
+        assertThat(result.getTotalElements()).isEqualTo(4);
+        assertThat(result.getContent()).extracting(row -> row.get("username"))
+                .containsExactly("member1", "member2", "member3");
+        assertThat(result.getContent()).extracting(row -> row.get("teamName"))
+                .containsExactly("teamA", "teamA", "teamB");
+    }
+
+    @Test
+    void searchText() {
+        // 트리거가 flush 시점에 색인, 대소문자 무시
+        Page<MemberTeamDto> byUsername = memberRepository.searchText("MEMBER2", PageRequest.of(0, 10));
+        Page<MemberTeamDto> byTeamName = memberRepository.searchText("teamb", PageRequest.of(0, 10));
+
+        assertThat(byUsername.getContent()).extracting("username").containsExactly("member2");
+        assertThat(byTeamName.getTotalElements()).isEqualTo(2);
+        assertThat(byTeamName.getContent()).extracting("username").containsExactly("member3", "member4");
+        // 단어 일부로는 찾지 않음
+        assertThat(memberRepository.searchText("mem", PageRequest.of(0, 10))).isEmpty();
+    }
+}
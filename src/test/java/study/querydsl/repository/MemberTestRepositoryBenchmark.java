@@ -0,0 +1,103 @@
+package study.querydsl.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.List;
+
+/*
+ * MemberTestRepository 의 @Transactional(readOnly = true) 효과 측정 (회원 100,000명 basicSelect, 커밋까지 포함)
+ * - read-write: 호출한 쪽의 읽기/쓰기 트랜잭션에 참여, 엔티티마다 스냅샷을 만들고 커밋 때 dirty checking
+ * - read-only: 읽기 전용 트랜잭션, HibernateJpaDialect 가 세션을 read-only, FlushMode.MANUAL 로 설정
+ * 항목
+ * - select: 조회 시간, allocated: 조회 중 현재 스레드가 할당한 바이트 (com.sun.management.ThreadMXBean)
+ * - retained: 커밋 전 GC 후 힙 사용량 증가분 (결과 목록 + 영속성 컨텍스트 + 스냅샷, MemoryMXBean 기준 근사값)
+ * - commit: 커밋 시간, read-write 는 여기서 flush 와 dirty checking 이 일어남
+ * 커밋 시점을 따로 재려고 호출한 쪽에서 트랜잭션을 열고, 리포지토리 메서드는 그 트랜잭션에 참여
+ * ./gradlew benchmark --tests "*MemberTestRepositoryBenchmark"
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=info"
+})
+class MemberTestRepositoryBenchmark {
+    private static final int MEMBER_COUNT = 100_000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberTestRepository memberTestRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            em.createQuery("delete from Member").executeUpdate();
+            Team team = new Team("teamA");
+            em.persist(team);
+            for (int i = 0; i < MEMBER_COUNT; i++) {
+                em.persist(new Member("member" + i, i % 100, team));
+                if (i % 1000 == 0) {
+                    em.flush();
+                    em.clear();
+                    team = em.find(Team.class, team.getId());
+                }
+            }
+        });
+    }
+
+    @Test
+    void callerTransactionVersusRepositoryReadOnly() {
+        DefaultTransactionDefinition readWrite = new DefaultTransactionDefinition();
+        DefaultTransactionDefinition readOnly = new DefaultTransactionDefinition();
+        readOnly.setReadOnly(true);
+        // 첫 회는 워밍업
+        for (int i = 0; i < 3; i++) {
+            measure("read-write", readWrite);
+            measure("read-only", readOnly);
+        }
+    }
+
+    private void measure(String name, DefaultTransactionDefinition definition) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        memory.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        TransactionStatus status = transactionManager.getTransaction(definition);
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        List<Member> members = memberTestRepository.basicSelect();
+        long selectNanos = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        memory.gc();
+        long retained = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+
+        start = System.nanoTime();
+        transactionManager.commit(status);
+        long commitNanos = System.nanoTime() - start;
+
+        System.out.printf("%-10s rows=%d select=%dms allocated=%dMB retained=%dMB commit=%dms%n",
+                name, members.size(), selectNanos / 1_000_000, allocated >> 20, retained >> 20,
+                commitNanos / 1_000_000);
+    }
+}
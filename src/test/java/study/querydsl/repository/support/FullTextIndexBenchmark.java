@@ -0,0 +1,130 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static study.querydsl.entity.QMember.member;
+
+/*
+ * username 검색: like '%x%' 전체 스캔 vs H2 전문 검색 인덱스 (회원 1,000,000명)
+ * - 드문 단어(user777777, 1건)와 흔한 단어(name42, 1,000건)
+ * - 대량 적재는 트리거 없이 넣고 한 번에 색인, 색인 시간도 출력
+ * - 추가 적재 100,000건: 트리거를 켠 채 vs suspendMemberIndex 후 전체 재색인 (importer, seeder 방식)
+ * ./gradlew benchmark --tests "*FullTextIndexBenchmark"
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=info"
+})
+class FullTextIndexBenchmark {
+    private static final int MEMBER_COUNT = 1_000_000;
+    private static final int BATCH_SIZE = 10_000;
+    private static final int RUNS = 20;
+    private static final int LOAD_COUNT = 100_000;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    FullTextIndex fullTextIndex;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("call FT_DROP_INDEX('PUBLIC', 'MEMBER')");
+        insertMembers(0, MEMBER_COUNT);
+
+        long start = System.nanoTime();
+        fullTextIndex.reindex();
+        System.out.printf("full-text index of %,d members built in %,dms%n",
+                MEMBER_COUNT, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // 행마다 트리거가 돌지 않도록 인덱스를 내리고 삭제
+        try (FullTextIndex.Suspension suspension = fullTextIndex.suspendMemberIndex()) {
+            jdbcTemplate.update("delete from member");
+        }
+    }
+
+    @Test
+    void bulkLoadWithTriggersVersusSuspended() {
+        long start = System.nanoTime();
+        insertMembers(MEMBER_COUNT, LOAD_COUNT);
+        System.out.printf("load %,d members with triggers   %,8dms%n",
+                LOAD_COUNT, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        start = System.nanoTime();
+        try (FullTextIndex.Suspension suspension = fullTextIndex.suspendMemberIndex()) {
+            insertMembers(MEMBER_COUNT + LOAD_COUNT, LOAD_COUNT);
+        }
+        System.out.printf("load %,d members suspended       %,8dms (including reindex of %,d rows)%n",
+                LOAD_COUNT, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), MEMBER_COUNT + 2 * LOAD_COUNT);
+    }
+
+    @Test
+    void likeVersusFullText() {
+        for (String word : new String[]{"user777777", "name42"}) {
+            // 첫 회는 워밍업
+            for (int i = 0; i < 2; i++) {
+                measure(word, "like", member.username.containsIgnoreCase(word));
+                measure(word, "full-text", FullTextIndex.usernameMatches(word));
+            }
+        }
+    }
+
+    private void measure(String word, String name, BooleanExpression condition) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            JPAQueryFactory queryFactory = new JPAQueryFactory(em);
+            long total = 0;
+            int found = 0;
+            for (int i = 0; i < RUNS; i++) {
+                long start = System.nanoTime();
+                found = queryFactory
+                        .select(member.id)
+                        .from(member)
+                        .where(condition)
+                        .fetch()
+                        .size();
+                total += System.nanoTime() - start;
+            }
+            System.out.printf("%-12s %-10s %,6d rows  avg %,8dus per query%n",
+                    word, name, found, TimeUnit.NANOSECONDS.toMicros(total / RUNS));
+        });
+    }
+
+    private void insertMembers(int from, int count) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = from; i < from + count; i++) {
+            batch.add(new Object[]{"name" + (i % 1000) + " user" + i, i % 100});
+            if (batch.size() == BATCH_SIZE || i == from + count - 1) {
+                jdbcTemplate.batchUpdate("insert into member (member_id, username, age, change_seq)"
+                        + " values (next value for hibernate_sequence, ?, ?, next value for change_sequence)", batch);
+                batch.clear();
+            }
+        }
+    }
+}
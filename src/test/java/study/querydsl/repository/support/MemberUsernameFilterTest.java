@@ -0,0 +1,61 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class MemberUsernameFilterTest {
+
+    @Autowired
+    MemberUsernameFilter usernameFilter;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    void putDuringRebuildIsNotLost() {
+        AtomicBoolean rebuilding = new AtomicBoolean(true);
+        CompletableFuture<Void> rebuilds = CompletableFuture.runAsync(() -> {
+            try {
+                for (int i = 0; i < 100; i++) {
+                    usernameFilter.rebuild();
+                }
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+
+        // 필터 교체와 겹치게 계속 추가
+        List<String> names = new ArrayList<>();
+        while (rebuilding.get() && names.size() < 50_000) {
+            String name = "concurrent-" + names.size();
+            usernameFilter.put(name);
+            names.add(name);
+        }
+        rebuilds.join();
+
+        assertThat(names).isNotEmpty();
+        assertThat(names).noneMatch(usernameFilter::isDefinitelyAbsent);
+    }
+
+    @Test
+    @Transactional
+    void unflushedPersistIsNotFiltered() {
+        // flush 전이라 필터에도 DB 에도 없지만 조회 시 auto flush 로 보여야 함
+        em.persist(new Member("pending-member", 10));
+
+        assertThat(usernameFilter.isDefinitelyAbsent("pending-member")).isFalse();
+    }
+}
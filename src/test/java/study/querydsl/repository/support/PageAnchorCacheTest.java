@@ -0,0 +1,80 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageAnchorCacheTest {
+    private static final PageAnchorCache.Fingerprint STATE = new PageAnchorCache.Fingerprint(30, 30L);
+
+    private final AtomicLong version = new AtomicLong();
+
+    @Test
+    void recordEveryInterval() {
+        PageAnchorCache cache = new PageAnchorCache(version::get, new SimpleMeterRegistry(), 10, 100);
+        // offset 5 부터 20 행 -> 위치 10, 20 에 앵커
+        cache.record("key", version.get(), STATE, 5, rows(5, 20), this::anchorOf);
+        assertThat(cache.size()).isEqualTo(2);
+
+        assertThat(cache.seek("key", 5, STATE)).isNull();
+        assertThat(cache.seek("key", 19, STATE).getPosition()).isEqualTo(10);
+        assertThat(cache.seek("key", 19, STATE).getAnchor().getId()).isEqualTo(10);
+        assertThat(cache.seek("key", 250, STATE).getPosition()).isEqualTo(20);
+        assertThat(cache.seek("other", 250, STATE)).isNull();
+    }
+
+    @Test
+    void invalidatedByVersion() {
+        PageAnchorCache cache = new PageAnchorCache(version::get, new SimpleMeterRegistry(), 10, 100);
+        long before = version.get();
+        cache.record("key", before, STATE, 0, rows(0, 30), this::anchorOf);
+        assertThat(cache.seek("key", 25, STATE)).isNotNull();
+
+        version.incrementAndGet();
+        assertThat(cache.seek("key", 25, STATE)).isNull();
+        assertThat(cache.size()).isZero();
+
+        // 변경 전에 시작한 조회 결과는 기록하지 않음
+        cache.record("key", version.get(), STATE, 0, rows(0, 30), this::anchorOf);
+        cache.record("key", before, STATE, 0, rows(0, 30), this::anchorOf);
+        assertThat(cache.seek("key", 25, STATE).getAnchor().getId()).isEqualTo(20);
+    }
+
+    @Test
+    void invalidatedByFingerprint() {
+        PageAnchorCache cache = new PageAnchorCache(version::get, new SimpleMeterRegistry(), 10, 100);
+        cache.record("key", version.get(), STATE, 0, rows(0, 30), this::anchorOf);
+
+        // 버전은 그대로지만 DB 에서 행이 지워짐 (touch 없는 벌크 삭제, 다른 노드)
+        PageAnchorCache.Fingerprint deleted = new PageAnchorCache.Fingerprint(29, 30L);
+        assertThat(cache.seek("key", 25, deleted)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void boundedByLeastRecentlyUsed() {
+        PageAnchorCache cache = new PageAnchorCache(version::get, new SimpleMeterRegistry(), 10, 5);
+        cache.record("a", 0, STATE, 0, rows(0, 30), this::anchorOf);
+        cache.record("b", 0, STATE, 0, rows(0, 30), this::anchorOf);
+        assertThat(cache.seek("a", 25, STATE)).isNotNull();
+
+        cache.record("c", 0, STATE, 0, rows(0, 30), this::anchorOf);
+        assertThat(cache.size()).isLessThanOrEqualTo(5);
+        assertThat(cache.seek("b", 25, STATE)).isNull();
+        assertThat(cache.seek("c", 25, STATE)).isNotNull();
+    }
+
+    private List<Long> rows(long offset, int count) {
+        return LongStream.range(offset, offset + count).boxed().collect(Collectors.toList());
+    }
+
+    private PageAnchor anchorOf(Long id) {
+        return new PageAnchor(null, id);
+    }
+}
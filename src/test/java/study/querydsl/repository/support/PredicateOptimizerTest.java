@@ -0,0 +1,90 @@
+package study.querydsl.repository.support;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.dsl.Expressions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static study.querydsl.entity.QMember.member;
+
+class PredicateOptimizerTest {
+    PredicateOptimizer optimizer;
+
+    @BeforeEach
+    void setUp() {
+        optimizer = new PredicateOptimizer(new SimpleMeterRegistry());
+    }
+
+    @Test
+    void emptyBuilder() {
+        OptimizedPredicate result = optimizer.optimize(new BooleanBuilder());
+
+        assertThat(result.isContradiction()).isFalse();
+        assertThat(result.getPredicate()).isNull();
+    }
+
+    @Test
+    void contradictoryRange() {
+        BooleanBuilder builder = new BooleanBuilder()
+                .and(member.age.goe(30))
+                .and(member.age.loe(20));
+
+        OptimizedPredicate result = optimizer.optimize(builder);
+
+        assertThat(result.isContradiction()).isTrue();
+        assertThat(optimizer.getRewriteCount(PredicateRewrite.CONTRADICTION)).isEqualTo(1);
+    }
+
+    @Test
+    void mergeOverlappingRange() {
+        BooleanBuilder builder = new BooleanBuilder()
+                .and(member.username.eq("member1"))
+                .and(member.age.goe(10))
+                .and(member.age.goe(20))
+                .and(member.age.loe(40));
+
+        OptimizedPredicate result = optimizer.optimize(builder);
+
+        assertThat(result.getPredicate())
+                .isEqualTo(member.username.eq("member1").and(member.age.goe(20)).and(member.age.loe(40)));
+        assertThat(optimizer.getRewriteCount(PredicateRewrite.RANGE_MERGED)).isEqualTo(1);
+    }
+
+    @Test
+    void rangeToEquality() {
+        BooleanBuilder builder = new BooleanBuilder()
+                .and(member.age.goe(20))
+                .and(member.age.loe(20));
+
+        OptimizedPredicate result = optimizer.optimize(builder);
+
+        assertThat(result.getPredicate()).isEqualTo(member.age.eq(20));
+        assertThat(optimizer.getRewriteCount(PredicateRewrite.RANGE_TO_EQUALITY)).isEqualTo(1);
+    }
+
+    @Test
+    void equalityOutsideRange() {
+        BooleanBuilder builder = new BooleanBuilder()
+                .and(member.age.eq(50))
+                .and(member.age.loe(40));
+
+        assertThat(optimizer.optimize(builder).isContradiction()).isTrue();
+    }
+
+    @Test
+    void foldConstant() {
+        BooleanBuilder builder = new BooleanBuilder()
+                .and(Expressions.TRUE)
+                .and(member.username.eq("member1"))
+                .and(member.username.eq("member1"));
+
+        OptimizedPredicate result = optimizer.optimize(builder);
+
+        assertThat(result.getPredicate()).isEqualTo(member.username.eq("member1"));
+        assertThat(optimizer.getRewriteCount(PredicateRewrite.CONSTANT_FOLDED)).isEqualTo(1);
+
+        assertThat(optimizer.optimize(new BooleanBuilder(Expressions.FALSE)).isContradiction()).isTrue();
+    }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import study.querydsl.entity.Member;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+
+@SpringBootTest
+class QueryCostGuardTest {
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    QueryCostGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        // 실제 DB 대신 고정된 통계 사용
+        Map<String, TableStatistics.Table> tables = Map.of(
+                "member", new TableStatistics.Table(10_000,
+                        Set.of("member_id", "team_id", "change_seq"), Set.of("member_id"), 0),
+                "team", new TableStatistics.Table(100, Set.of("team_id"), Set.of("team_id"), 0));
+        TableStatistics statistics = new TableStatistics(null, Duration.ZERO) {
+            @Override
+            public Table get(String tableName) {
+                return tables.get(tableName.toLowerCase());
+            }
+        };
+        guard = new QueryCostGuard(entityManagerFactory, statistics, new SimpleMeterRegistry(), 1000, 100, 20);
+    }
+
+    @Test
+    void indexedConditions() {
+        Pageable pageable = PageRequest.of(0, 10);
+        assertThat(guard.check(Member.class, member.id.eq(1L), pageable)).isEqualTo(pageable);
+        // team_id 로 좁힌 뒤 나머지는 필터
+        assertThat(guard.check(Member.class, member.team.id.eq(1L).and(member.username.contains("x")), pageable))
+                .isEqualTo(pageable);
+        // 팀 테이블 전체(100) + FK 로 찾은 회원(500)
+        assertThat(guard.estimate(Member.class, member.team.name.eq("teamA")).scannedRows).isEqualTo(600);
+    }
+
+    @Test
+    void rejectFullScan() {
+        assertThatThrownBy(() -> guard.check(Member.class, member.username.eq("member1"), PageRequest.of(0, 10)))
+                .isInstanceOf(QueryCostExceededException.class)
+                .extracting("rejection").isEqualTo(QueryCostRejection.FULL_SCAN);
+        assertThatThrownBy(() -> guard.check(Member.class, member.username.contains("member"), PageRequest.of(0, 10)))
+                .isInstanceOf(QueryCostExceededException.class)
+                .extracting("rejection").isEqualTo(QueryCostRejection.UNINDEXED_LIKE);
+        // 한쪽 분기라도 인덱스를 못 타면 전체 스캔
+        assertThatThrownBy(() -> guard.check(Member.class,
+                member.id.eq(1L).or(member.age.eq(10)), PageRequest.of(0, 10)))
+                .isInstanceOf(QueryCostExceededException.class);
+
+        assertThat(guard.getRejectionCount(QueryCostRejection.FULL_SCAN)).isEqualTo(2);
+        assertThat(guard.getRejectionCount(QueryCostRejection.UNINDEXED_LIKE)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectLargeOffset() {
+        assertThatThrownBy(() -> guard.check(Member.class, member.id.eq(1L), PageRequest.of(10, 20)))
+                .isInstanceOf(QueryCostExceededException.class)
+                .extracting("rejection").isEqualTo(QueryCostRejection.OFFSET);
+        assertThat(guard.getRejectionCount(QueryCostRejection.OFFSET)).isEqualTo(1);
+    }
+
+    @Test
+    void limitPageSize() {
+        assertThat(guard.check(Member.class, member.id.eq(1L), PageRequest.of(1, 50)))
+                .isEqualTo(PageRequest.of(1, 20));
+        assertThat(guard.check(Member.class, member.id.eq(1L), Pageable.unpaged()))
+                .isEqualTo(PageRequest.of(0, 20));
+    }
+}
@@ -0,0 +1,32 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커넥션이 하나뿐이어도 트랜잭션 안에서 읽을 수 있어야 함 (다른 커넥션을 빌리면 timeout)
+@SpringBootTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=250ms",
+        "member.cost-guard.statistics-ttl=0s"
+})
+@Transactional(readOnly = true)
+class TableStatisticsTest {
+
+    @Autowired
+    TableStatistics statistics;
+
+    @Test
+    void loadsThroughTransactionConnection() {
+        TableStatistics.Table first = statistics.get("member");
+        // ttl 이 지나 다시 읽음
+        TableStatistics.Table second = statistics.get("MEMBER");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.isIndexed("member_id")).isTrue();
+        assertThat(second.isUnique("member_id")).isTrue();
+    }
+}
@@ -0,0 +1,60 @@
+package study.querydsl.repository.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class TeamBatchFetchMetricsTest {
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void initializesPendingTeamsInOneQuery() {
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team("team" + i);
+            em.persist(team);
+            em.persist(new Member("member" + i, 10 * i, team));
+        }
+        em.flush();
+        em.clear();
+
+        double fetches = count("member.team-batch.fetches");
+        double saved = count("member.team-batch.selects-saved");
+
+        List<Member> members = memberJpaRepository.findAll_QueryDsl();
+        assertThat(members).hasSize(3);
+        Hibernate.initialize(members.get(0).getTeam());
+
+        // 첫 초기화 때 나머지 팀도 함께 읽힘
+        assertThat(count("member.team-batch.fetches") - fetches).isEqualTo(1);
+
+        assertThat(members).extracting(member -> member.getTeam().getName())
+                .containsExactlyInAnyOrder("team0", "team1", "team2");
+        assertThat(count("member.team-batch.fetches") - fetches).isEqualTo(1);
+        assertThat(count("member.team-batch.selects-saved") - saved).isEqualTo(2);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).functionCounter().count();
+    }
+}
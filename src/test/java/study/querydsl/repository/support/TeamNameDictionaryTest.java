@@ -0,0 +1,57 @@
+package study.querydsl.repository.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 다른 노드/SQL 로 바뀐 팀 이름은 ttl 안에 반영되어야 함, 커밋된 데이터가 필요하므로 롤백 없이 실행
+@SpringBootTest(properties = "member.team-dictionary.ttl=100ms")
+class TeamNameDictionaryTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    MemberRepository memberRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into team (team_id, name, change_seq)"
+                + " values (next value for hibernate_sequence, 'dictionaryTeam', next value for change_sequence)");
+        jdbcTemplate.update("insert into member (member_id, username, age, team_id, change_seq)"
+                + " select next value for hibernate_sequence, 'dictionaryMember', 10, team_id, next value for change_sequence"
+                + " from team where name = 'dictionaryTeam'");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from member where username = 'dictionaryMember'");
+        jdbcTemplate.update("delete from team where name in ('dictionaryTeam', 'renamedTeam')");
+    }
+
+    @Test
+    void renameOutsideJpaIsVisibleAfterTtl() throws InterruptedException {
+        assertThat(search("dictionaryTeam")).extracting("username").containsExactly("dictionaryMember");
+
+        // 엔티티 이벤트 없이 이름 변경 (다른 노드, SQL)
+        jdbcTemplate.update("update team set name = 'renamedTeam' where name = 'dictionaryTeam'");
+        Thread.sleep(200);
+
+        assertThat(search("renamedTeam")).extracting("username").containsExactly("dictionaryMember");
+        assertThat(search("dictionaryTeam")).isEmpty();
+    }
+
+    private List<MemberTeamDto> search(String teamName) {
+        return memberRepository.search(MemberSearchCondition.builder().teamName(teamName).build());
+    }
+}
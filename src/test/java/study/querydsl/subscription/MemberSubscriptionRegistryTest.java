@@ -0,0 +1,85 @@
+package study.querydsl.subscription;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커밋 후 이벤트로 동작하므로 롤백 없이 실행, 응답에 연결되지 않은 구독이 남으므로 컨텍스트를 버림
+@SpringBootTest
+@DirtiesContext
+class MemberSubscriptionRegistryTest {
+
+    @Autowired
+    MemberSubscriptionRegistry registry;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+    Long teamId;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        teamId = tx.execute(status -> {
+            Team team = new Team("renameBefore");
+            em.persist(team);
+            em.persist(new Member("renameMember", 10, team));
+            return team.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'renameMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.id = :id").setParameter("id", teamId).executeUpdate();
+        });
+    }
+
+    @Test
+    void teamRenameMovesMembersBetweenTeamNameSubscriptions() throws InterruptedException {
+        registry.subscribe(MemberSearchCondition.builder().teamName("renameBefore").build());
+        registry.subscribe(MemberSearchCondition.builder().teamName("renameAfter").build());
+        registry.subscribe(MemberSearchCondition.builder().username("renameMember").build());
+        double match = count("match");
+        double unmatch = count("unmatch");
+        double update = count("update");
+
+        tx.executeWithoutResult(status -> em.find(Team.class, teamId).setName("renameAfter"));
+
+        // 디스패치 스레드에서 비동기로 전송됨
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((count("match") == match || count("unmatch") == unmatch || count("update") == update)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(count("match") - match).isEqualTo(1);
+        assertThat(count("unmatch") - unmatch).isEqualTo(1);
+        // 팀 조건이 없는 구독은 팀 이름만 바뀐 UPDATE
+        assertThat(count("update") - update).isEqualTo(1);
+    }
+
+    private double count(String type) {
+        return meterRegistry.counter("member.subscription.events", "type", type).count();
+    }
+}
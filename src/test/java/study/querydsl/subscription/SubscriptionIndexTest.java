@@ -0,0 +1,42 @@
+package study.querydsl.subscription;
+
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchCondition;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubscriptionIndexTest {
+
+    @Test
+    void candidatesByTeamAndAge() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        MemberSubscription teamA = subscription(MemberSearchCondition.builder().teamName("teamA").build());
+        MemberSubscription age30to40 = subscription(MemberSearchCondition.builder().ageGoe(30).ageLoe(40).build());
+        MemberSubscription teamBOver35 = subscription(MemberSearchCondition.builder().teamName("teamB").ageGoe(35).build());
+        index.add(teamA);
+        index.add(age30to40);
+        index.add(teamBOver35);
+
+        assertThat(index.candidates(new MemberSnapshot(1L, "member1", 32, 1L), "teamA"))
+                .containsExactlyInAnyOrder(teamA, age30to40);
+        assertThat(index.candidates(new MemberSnapshot(2L, "member2", 36, 2L), "teamB"))
+                .containsExactlyInAnyOrder(age30to40, teamBOver35);
+        assertThat(index.candidates(new MemberSnapshot(3L, "member3", 200, 2L), "teamB"))
+                .containsExactly(teamBOver35);
+        assertThat(index.candidates(null, null)).isEmpty();
+    }
+
+    @Test
+    void remove() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        MemberSubscription subscription = subscription(MemberSearchCondition.builder().username("member1").build());
+        index.add(subscription);
+        index.remove(subscription);
+
+        assertThat(index.candidates(new MemberSnapshot(1L, "member1", 10, null), null)).isEmpty();
+    }
+
+    private MemberSubscription subscription(MemberSearchCondition condition) {
+        return new MemberSubscription(condition, null);
+    }
+}
@@ -0,0 +1,91 @@
+package study.querydsl.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// open-in-view 없이 동작하는지 확인하므로 테스트 트랜잭션 없이 실행
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConnectionHoldProfilerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    MemberJpaRepository memberJpaRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("holdTeam");
+            em.persist(team);
+            em.persist(new Member("holdMember", 10, team));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'holdMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'holdTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void recordsHoldAndSqlTimePerEndpoint() throws Exception {
+        mockMvc.perform(get("/v2/members").param("teamName", "holdTeam"))
+                .andExpect(status().isOk());
+
+        Timer hold = meterRegistry.find("member.connection.hold").tag("endpoint", "/v2/members").timer();
+        Timer sql = meterRegistry.find("member.connection.sql").tag("endpoint", "/v2/members").timer();
+        assertThat(hold).isNotNull();
+        assertThat(sql).isNotNull();
+        assertThat(hold.count()).isPositive();
+        assertThat(hold.totalTime(TimeUnit.NANOSECONDS))
+                .isGreaterThanOrEqualTo(sql.totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void lazyLoadAfterReleaseFails() {
+        List<Member> members = memberJpaRepository.findByUsername("holdMember");
+        assertThat(members).hasSize(1);
+
+        // 커넥션과 영속성 컨텍스트가 이미 반납됨
+        assertThatThrownBy(() -> members.get(0).getTeam().getName())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+}
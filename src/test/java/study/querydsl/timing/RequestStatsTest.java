@@ -0,0 +1,46 @@
+package study.querydsl.timing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestStatsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestStats.unbind();
+    }
+
+    @Test
+    void serverTiming() {
+        RequestStats stats = new RequestStats(0);
+        stats.statementExecuted(TimeUnit.MICROSECONDS.toNanos(1500));
+        stats.statementExecuted(TimeUnit.MICROSECONDS.toNanos(500));
+        stats.entityLoaded();
+        stats.collectionFetched();
+        stats.flushed();
+
+        assertThat(stats.serverTiming(TimeUnit.MILLISECONDS.toNanos(5)))
+                .isEqualTo("db;dur=2.000;desc=\"2 statements\", hibernate;desc=\"loads=1 collections=1 flushes=1\", app;dur=5.000");
+        assertThat(stats.logFields(TimeUnit.MILLISECONDS.toNanos(5)))
+                .isEqualTo("durationMs=5.000 dbMs=2.000 statements=2 entityLoads=1 collectionFetches=1 flushes=1");
+    }
+
+    @Test
+    void boundToCurrentThreadOnly() throws InterruptedException {
+        RequestStats stats = RequestStats.bind();
+        assertThat(RequestStats.current()).isSameAs(stats);
+
+        RequestStats[] other = new RequestStats[1];
+        Thread thread = new Thread(() -> other[0] = RequestStats.current());
+        thread.start();
+        thread.join();
+        assertThat(other[0]).isNull();
+
+        RequestStats.unbind();
+        assertThat(RequestStats.current()).isNull();
+    }
+}
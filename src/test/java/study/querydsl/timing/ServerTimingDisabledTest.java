@@ -0,0 +1,47 @@
+package study.querydsl.timing;
+
+import org.hibernate.event.spi.EventType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import study.querydsl.repository.support.HibernateEventListeners;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// member.server-timing.enabled 기본값(false)이면 필터, 리스너 모두 등록되지 않아야 함
+@SpringBootTest
+@AutoConfigureMockMvc
+class ServerTimingDisabledTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ApplicationContext applicationContext;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void nothingRegistered() throws Exception {
+        assertThat(applicationContext.getBeanNamesForType(ServerTimingConfig.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(ServerTimingAdvice.class)).isEmpty();
+        assertThat(applicationContext.getBeanNamesForType(JdbcTimingListener.class)).isEmpty();
+        assertThat(applicationContext.containsBean("serverTimingFilter")).isFalse();
+        assertThat(HibernateEventListeners.registry(entityManagerFactory)
+                .getEventListenerGroup(EventType.POST_LOAD).listeners())
+                .noneMatch(listener -> listener instanceof HibernateStatsListener);
+
+        mockMvc.perform(get("/v2/members"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTimingAdvice.HEADER));
+    }
+}
@@ -0,0 +1,29 @@
+package study.querydsl.timing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "member.server-timing.enabled=true")
+@AutoConfigureMockMvc
+class ServerTimingTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void addsServerTimingHeader() throws Exception {
+        // 요청 스레드에서 실행한 쿼리가 1개 이상 집계되어야 함
+        mockMvc.perform(get("/v2/members"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ServerTimingAdvice.HEADER,
+                        matchesPattern("db;dur=[0-9.]+;desc=\"[1-9][0-9]* statements\", hibernate;desc=\".*\", app;dur=[0-9.]+")));
+    }
+}
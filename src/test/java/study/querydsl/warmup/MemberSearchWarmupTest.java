@@ -0,0 +1,70 @@
+package study.querydsl.warmup;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 워밍업 조건마다 실제로 SQL 이 실행되어야 쿼리 플랜이 데워짐, 커밋된 팀이 필요하므로 롤백 없이 실행
+@SpringBootTest(properties = {"member.warmup.enabled=true", "member.warmup.iterations=1"})
+class MemberSearchWarmupTest {
+
+    @Autowired
+    MemberSearchWarmup warmup;
+
+    @Autowired
+    EntityManager em;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    TransactionTemplate tx;
+
+    @BeforeEach
+    void setUp() {
+        tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            Team team = new Team("warmupTeam");
+            em.persist(team);
+            em.persist(new Member("warmupMember", 10, team));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        tx.executeWithoutResult(status -> {
+            em.createQuery("delete from Member m where m.username = 'warmupMember'").executeUpdate();
+            em.createQuery("delete from Team t where t.name = 'warmupTeam'").executeUpdate();
+        });
+    }
+
+    @Test
+    void everyShapeExecutesSql() {
+        List<MemberSearchCondition> shapes = warmup.shapes();
+        assertThat(shapes).hasSize(16);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (MemberSearchCondition condition : shapes) {
+            long before = statistics.getPrepareStatementCount();
+            warmup.warm(condition);
+            assertThat(statistics.getPrepareStatementCount() - before).as("%s", condition).isPositive();
+        }
+    }
+}